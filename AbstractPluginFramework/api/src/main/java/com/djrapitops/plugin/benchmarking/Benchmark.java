@@ -39,6 +39,7 @@ public class Benchmark implements Comparable<Benchmark> {
     private final long estimatedMemoryUse;
 
     private String name;
+    private String collationKey;
 
     Benchmark(long ns, long estimatedMemoryUse) {
         this.ns = ns;
@@ -51,6 +52,11 @@ public class Benchmark implements Comparable<Benchmark> {
         this.estimatedMemoryUse = estimatedMemoryUse;
     }
 
+    Benchmark(String name, String collationKey, long ns, long estimatedMemoryUse) {
+        this(name, ns, estimatedMemoryUse);
+        this.collationKey = collationKey;
+    }
+
     /**
      * Get name of the Benchmark.
      *
@@ -72,7 +78,14 @@ public class Benchmark implements Comparable<Benchmark> {
 
     @Override
     public int compareTo(Benchmark o) {
-        return this.name.toLowerCase().compareTo(o.name.toLowerCase());
+        return getCollationKey().compareTo(o.getCollationKey());
+    }
+
+    private String getCollationKey() {
+        if (collationKey == null) {
+            collationKey = name.toLowerCase();
+        }
+        return collationKey;
     }
 
     /**
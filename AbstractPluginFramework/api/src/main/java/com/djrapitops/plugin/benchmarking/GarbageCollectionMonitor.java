@@ -0,0 +1,300 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import com.djrapitops.plugin.api.Check;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monitor for garbage collection pauses and old generation heap occupancy.
+ * <p>
+ * Subscribes to {@link GarbageCollectorMXBean} notifications to keep rolling pause time statistics per collector,
+ * which can be viewed next to {@link Timings} results with {@link #getPauseResults()}.
+ * The collections of concurrent collectors, such as {@code G1 Concurrent GC} or {@code ZGC Cycles}, run mostly next
+ * to the application, so their durations are kept apart as {@code GC cycle: <collector>} and are not counted as pauses.
+ * Collection usage thresholds are set on old generation {@link MemoryPoolMXBean}s.
+ * <p>
+ * Throttled warnings are logged with a {@link PluginLogger} when a pause is longer than the configured limit or
+ * old generation occupancy stays over the configured share after a collection.
+ *
+ * @author AuroraLS3
+ */
+public class GarbageCollectionMonitor {
+
+    private static final boolean NOTIFICATIONS_AVAILABLE = Check.isAvailable("com.sun.management.GarbageCollectionNotificationInfo");
+    private static final int ROLLING_WINDOW = 100;
+    private static final Set<String> CONCURRENT_COLLECTORS = new HashSet<>(Arrays.asList(
+            "ConcurrentMarkSweep", "G1 Concurrent GC", "ZGC Cycles", "ZGC Major Cycles", "ZGC Minor Cycles",
+            "Shenandoah Cycles"
+    ));
+
+    private final PluginLogger logger;
+
+    private final Map<String, PauseStatistics> statistics;
+    private final Map<NotificationEmitter, NotificationListener> listeners;
+    private final Map<MemoryPoolMXBean, Long> previousThresholds;
+    private final AtomicLong lastPauseWarning;
+    private final AtomicLong lastOccupancyWarning;
+
+    private volatile long pauseWarningNs;
+    private volatile double occupancyWarningShare;
+    private volatile long warningIntervalNs;
+
+    /**
+     * Create a new GarbageCollectionMonitor.
+     * <p>
+     * By default warns about pauses longer than 200 ms and old generation occupancy over 90%,
+     * at most once a minute per kind of warning.
+     *
+     * @param logger PluginLogger to log the warnings with.
+     */
+    public GarbageCollectionMonitor(PluginLogger logger) {
+        this.logger = logger;
+        statistics = new ConcurrentHashMap<>();
+        listeners = new HashMap<>();
+        previousThresholds = new HashMap<>();
+        lastPauseWarning = new AtomicLong(System.nanoTime() - TimeUnit.DAYS.toNanos(1L));
+        lastOccupancyWarning = new AtomicLong(System.nanoTime() - TimeUnit.DAYS.toNanos(1L));
+        pauseWarningNs = TimeUnit.MILLISECONDS.toNanos(200L);
+        occupancyWarningShare = 0.9;
+        warningIntervalNs = TimeUnit.MINUTES.toNanos(1L);
+    }
+
+    /**
+     * Change the pause length that causes a warning.
+     *
+     * @param amount Amount of time.
+     * @param unit   Unit of the amount.
+     */
+    public void setPauseWarning(long amount, TimeUnit unit) {
+        pauseWarningNs = unit.toNanos(amount);
+    }
+
+    /**
+     * Change the old generation occupancy that causes a warning.
+     * <p>
+     * Takes effect on next {@link #start()}.
+     *
+     * @param share Share of the maximum pool size between 0 and 1.
+     * @throws IllegalArgumentException If the share is not between 0 and 1.
+     */
+    public void setOccupancyWarning(double share) {
+        if (share <= 0.0 || share > 1.0) {
+            throw new IllegalArgumentException("Occupancy share must be between 0 and 1, was " + share);
+        }
+        occupancyWarningShare = share;
+    }
+
+    /**
+     * Change how often each kind of warning can be logged.
+     *
+     * @param amount Amount of time.
+     * @param unit   Unit of the amount.
+     */
+    public void setWarningInterval(long amount, TimeUnit unit) {
+        warningIntervalNs = unit.toNanos(amount);
+    }
+
+    /**
+     * Subscribe to the notifications of the JVM.
+     * <p>
+     * Clears the statistics of a previous start.
+     * Does nothing if already started, or if the JVM does not provide garbage collection notifications.
+     */
+    public synchronized void start() {
+        if (!listeners.isEmpty() || !NOTIFICATIONS_AVAILABLE) {
+            return;
+        }
+        statistics.clear();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationListener listener = (notification, handback) -> onGarbageCollection(notification);
+                ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+                listeners.put((NotificationEmitter) collector, listener);
+            }
+        }
+
+        boolean thresholdSet = false;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage() != null ? pool.getUsage().getMax() : -1L;
+            if (isOldGeneration(pool) && pool.isCollectionUsageThresholdSupported() && max > 0L) {
+                previousThresholds.put(pool, pool.getCollectionUsageThreshold());
+                pool.setCollectionUsageThreshold((long) (max * occupancyWarningShare));
+                thresholdSet = true;
+            }
+        }
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        if (thresholdSet && memoryBean instanceof NotificationEmitter) {
+            NotificationListener listener = (notification, handback) -> onMemoryThreshold(notification);
+            ((NotificationEmitter) memoryBean).addNotificationListener(listener, null, null);
+            listeners.put((NotificationEmitter) memoryBean, listener);
+        }
+    }
+
+    /**
+     * Unsubscribe from the notifications and restore previous collection usage thresholds.
+     */
+    public synchronized void stop() {
+        for (Map.Entry<NotificationEmitter, NotificationListener> entry : listeners.entrySet()) {
+            try {
+                entry.getKey().removeNotificationListener(entry.getValue());
+            } catch (javax.management.ListenerNotFoundException ignore) {
+                /* Already removed */
+            }
+        }
+        listeners.clear();
+        for (Map.Entry<MemoryPoolMXBean, Long> entry : previousThresholds.entrySet()) {
+            entry.getKey().setCollectionUsageThreshold(entry.getValue());
+        }
+        previousThresholds.clear();
+    }
+
+    private boolean isOldGeneration(MemoryPoolMXBean pool) {
+        String name = pool.getName();
+        return pool.getType() == MemoryType.HEAP && (name.contains("Old") || name.contains("Tenured"));
+    }
+
+    private void onGarbageCollection(Notification notification) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long reclaimed = getUsed(info.getGcInfo().getMemoryUsageBeforeGc()) - getUsed(info.getGcInfo().getMemoryUsageAfterGc());
+        onGarbageCollection(info.getGcName(), info.getGcCause(), info.getGcInfo().getDuration(), reclaimed);
+    }
+
+    /**
+     * Record a finished collection.
+     *
+     * @param gcName     Name of the collector.
+     * @param gcCause    Cause of the collection.
+     * @param durationMs Duration of the collection in milliseconds.
+     * @param reclaimed  Change in used heap in bytes.
+     */
+    void onGarbageCollection(String gcName, String gcCause, long durationMs, long reclaimed) {
+        long durationNs = TimeUnit.MILLISECONDS.toNanos(durationMs);
+        if (CONCURRENT_COLLECTORS.contains(gcName)) {
+            // Duration is the whole concurrent cycle, not a pause
+            statistics.computeIfAbsent("GC cycle: " + gcName, collector -> new PauseStatistics(collector, ROLLING_WINDOW))
+                    .add(durationNs, reclaimed);
+            return;
+        }
+
+        statistics.computeIfAbsent("GC: " + gcName, collector -> new PauseStatistics(collector, ROLLING_WINDOW))
+                .add(durationNs, reclaimed);
+
+        if (durationNs > pauseWarningNs && shouldWarn(lastPauseWarning)) {
+            logger.warn(gcName + " (" + gcCause + ") paused for " + durationMs + " ms");
+        }
+    }
+
+    private long getUsed(Map<String, MemoryUsage> usages) {
+        long used = 0L;
+        for (MemoryUsage usage : usages.values()) {
+            used += usage.getUsed();
+        }
+        return used;
+    }
+
+    private void onMemoryThreshold(Notification notification) {
+        if (!MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+            return;
+        }
+        MemoryNotificationInfo info = MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+        MemoryUsage usage = info.getUsage();
+        if (shouldWarn(lastOccupancyWarning)) {
+            long percentage = usage.getMax() > 0 ? usage.getUsed() * 100L / usage.getMax() : 0L;
+            logger.warn(info.getPoolName() + " is " + percentage + "% full after garbage collection ("
+                    + (usage.getUsed() / 1000000L) + " / " + (usage.getMax() / 1000000L) + " MB)");
+        }
+    }
+
+    private boolean shouldWarn(AtomicLong lastWarning) {
+        long now = System.nanoTime();
+        long last = lastWarning.get();
+        return now - last >= warningIntervalNs && lastWarning.compareAndSet(last, now);
+    }
+
+    /**
+     * Get a rolling average {@link Benchmark} of the latest pauses for each collector.
+     * <p>
+     * Duration of the Benchmark is the average pause, memory is the average change in used heap.
+     * The results use the same form as {@link Timings#getAverageResults()} so they can be shown together.
+     *
+     * @return List that contains one {@link Benchmark} per collector, named {@code GC: <collector>},
+     * or {@code GC cycle: <collector>} for concurrent collectors.
+     */
+    public List<Benchmark> getPauseResults() {
+        List<Benchmark> results = new ArrayList<>();
+        for (PauseStatistics collector : statistics.values()) {
+            results.add(collector.toRollingAverage());
+        }
+        Collections.sort(results);
+        return results;
+    }
+
+    /**
+     * Get how many pauses a collector has had since the monitor was started.
+     *
+     * @param collectorName Name of the collector, for example {@code G1 Young Generation}.
+     * @return Pause count, 0 for concurrent collectors.
+     */
+    public long getPauseCount(String collectorName) {
+        PauseStatistics collector = statistics.get("GC: " + collectorName);
+        return collector != null ? collector.getCount() : 0L;
+    }
+
+    /**
+     * Get the total pause time of a collector since the monitor was started.
+     *
+     * @param collectorName Name of the collector, for example {@code G1 Young Generation}.
+     * @return Nanoseconds.
+     */
+    public long getTotalPauseNs(String collectorName) {
+        PauseStatistics collector = statistics.get("GC: " + collectorName);
+        return collector != null ? collector.getTotalNs() : 0L;
+    }
+
+    /**
+     * Get the longest pause of a collector since the monitor was started.
+     *
+     * @param collectorName Name of the collector, for example {@code G1 Young Generation}.
+     * @return Nanoseconds.
+     */
+    public long getMaxPauseNs(String collectorName) {
+        PauseStatistics collector = statistics.get("GC: " + collectorName);
+        return collector != null ? collector.getMaxNs() : 0L;
+    }
+}
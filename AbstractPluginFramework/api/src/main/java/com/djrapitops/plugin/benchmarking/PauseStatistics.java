@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+/**
+ * Rolling pause time statistics of a single garbage collector.
+ *
+ * @author AuroraLS3
+ * @see GarbageCollectionMonitor
+ */
+class PauseStatistics {
+
+    private final String collectorName;
+    private final long[] pausesNs;
+    private final long[] reclaimedBytes;
+
+    private long count;
+    private long totalNs;
+    private long maxNs;
+
+    PauseStatistics(String collectorName, int window) {
+        this.collectorName = collectorName;
+        this.pausesNs = new long[window];
+        this.reclaimedBytes = new long[window];
+    }
+
+    synchronized void add(long pauseNs, long reclaimed) {
+        int index = (int) (count % pausesNs.length);
+        pausesNs[index] = pauseNs;
+        reclaimedBytes[index] = reclaimed;
+        count++;
+        totalNs += pauseNs;
+        if (pauseNs > maxNs) {
+            maxNs = pauseNs;
+        }
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    synchronized long getTotalNs() {
+        return totalNs;
+    }
+
+    synchronized long getMaxNs() {
+        return maxNs;
+    }
+
+    /**
+     * Create a {@link Benchmark} that represents the rolling average of the latest pauses.
+     *
+     * @return Benchmark with average pause as duration and average change in used heap as memory.
+     */
+    synchronized Benchmark toRollingAverage() {
+        int size = (int) Math.min(count, pausesNs.length);
+        if (size == 0) {
+            return new Benchmark(collectorName, 0L, 0L);
+        }
+        long sumNs = 0L;
+        long sumReclaimed = 0L;
+        for (int i = 0; i < size; i++) {
+            sumNs += pausesNs[i];
+            sumReclaimed += reclaimedBytes[i];
+        }
+        return new Benchmark(collectorName, sumNs / size, -sumReclaimed / size);
+    }
+}
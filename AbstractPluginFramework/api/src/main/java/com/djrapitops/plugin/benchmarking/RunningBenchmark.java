@@ -30,14 +30,34 @@ package com.djrapitops.plugin.benchmarking;
  */
 class RunningBenchmark {
 
+    private final int id;
     private final String name;
     private final long startNs;
     private final long startMemory;
+    private final Thread thread;
 
-    RunningBenchmark(String name) {
+    RunningBenchmark(int id, String name) {
+        this.id = id;
         this.name = name;
         startNs = System.nanoTime();
         startMemory = Runtime.getRuntime().freeMemory();
+        thread = Thread.currentThread();
+    }
+
+    int getId() {
+        return id;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getStartNs() {
+        return startNs;
+    }
+
+    Thread getThread() {
+        return thread;
     }
 
     Benchmark end() {
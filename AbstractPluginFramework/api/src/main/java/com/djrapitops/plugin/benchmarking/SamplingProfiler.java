@@ -0,0 +1,266 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import com.djrapitops.plugin.task.RunnableFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in sampling profiler for threads that execute tasks of a {@link RunnableFactory}.
+ * <p>
+ * While running, a daemon thread takes a stack sample of every thread executing a task at a fixed interval and
+ * aggregates the samples into a folded-stack histogram, the input format of flame graph tools.
+ * Each folded stack starts with the task name, followed by frames from the root to the leaf.
+ *
+ * @author AuroraLS3
+ */
+public class SamplingProfiler {
+
+    private static final String TRUNCATED = "[Too many unique stacks]";
+
+    private final RunnableFactory runnableFactory;
+
+    private final Map<String, LongAdder> foldedStacks;
+    private final AtomicLong samples;
+
+    private volatile long intervalMs;
+    private volatile int maxDepth;
+    private volatile int maxStacks;
+
+    private Thread sampler;
+
+    /**
+     * Create a new SamplingProfiler that samples every 10 ms.
+     *
+     * @param runnableFactory Factory of the tasks to sample.
+     */
+    public SamplingProfiler(RunnableFactory runnableFactory) {
+        this.runnableFactory = runnableFactory;
+        foldedStacks = new ConcurrentHashMap<>();
+        samples = new AtomicLong();
+        intervalMs = 10L;
+        maxDepth = 128;
+        maxStacks = 10000;
+    }
+
+    /**
+     * Change the sampling interval.
+     *
+     * @param intervalMs Milliseconds between samples, at least 1.
+     */
+    public void setInterval(long intervalMs) {
+        this.intervalMs = Math.max(1L, intervalMs);
+    }
+
+    /**
+     * Change how many frames from the leaf of each stack are kept.
+     *
+     * @param maxDepth Frame count, at least 1.
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = Math.max(1, maxDepth);
+    }
+
+    /**
+     * Change how many unique stacks are kept, to bound memory use.
+     * <p>
+     * Samples of new stacks after the limit are counted under a single truncation entry.
+     *
+     * @param maxStacks Unique stack count, at least 1.
+     */
+    public void setMaxStacks(int maxStacks) {
+        this.maxStacks = Math.max(1, maxStacks);
+    }
+
+    /**
+     * Start sampling, if not already sampling.
+     */
+    public synchronized void start() {
+        if (sampler != null) {
+            return;
+        }
+        sampler = new Thread(this::sampleUntilInterrupted, "APF Sampling Profiler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    /**
+     * Stop sampling. Collected samples are kept until {@link #reset()}.
+     */
+    public synchronized void stop() {
+        if (sampler != null) {
+            sampler.interrupt();
+            sampler = null;
+        }
+    }
+
+    /**
+     * Check if the profiler is sampling.
+     *
+     * @return true if started and not stopped.
+     */
+    public synchronized boolean isRunning() {
+        return sampler != null;
+    }
+
+    private void sampleUntilInterrupted() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                sample(builder);
+                Thread.sleep(intervalMs);
+            }
+        } catch (InterruptedException stopped) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Take one sample of each thread executing a task.
+     *
+     * @param builder Reusable builder for the folded stacks.
+     */
+    void sample(StringBuilder builder) {
+        Map<Thread, String> running = runnableFactory.getRunningTaskThreads();
+        for (Map.Entry<Thread, String> entry : running.entrySet()) {
+            Thread thread = entry.getKey();
+            String taskName = entry.getValue();
+            StackTraceElement[] stack = thread.getStackTrace();
+            // Discard the sample if the thread moved on to something else while being sampled
+            if (stack.length == 0 || !taskName.equals(running.get(thread))) {
+                continue;
+            }
+            record(fold(builder, taskName, stack));
+        }
+    }
+
+    private String fold(StringBuilder builder, String taskName, StackTraceElement[] stack) {
+        builder.setLength(0);
+        appendFrame(builder, taskName);
+        int depth = Math.min(stack.length, maxDepth);
+        for (int i = depth - 1; i >= 0; i--) {
+            StackTraceElement frame = stack[i];
+            builder.append(';');
+            appendFrame(builder, frame.getClassName());
+            builder.append('.').append(frame.getMethodName());
+        }
+        return builder.toString();
+    }
+
+    private void appendFrame(StringBuilder builder, String text) {
+        // ';' separates frames and ' ' separates the count in the folded format.
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            builder.append(c == ';' || c == ' ' ? '_' : c);
+        }
+    }
+
+    private void record(String foldedStack) {
+        samples.incrementAndGet();
+        LongAdder count = foldedStacks.get(foldedStack);
+        if (count == null) {
+            String key = foldedStacks.size() < maxStacks ? foldedStack : TRUNCATED;
+            count = foldedStacks.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * Get the total number of stack samples taken.
+     *
+     * @return Sample count since last {@link #reset()}.
+     */
+    public long getSampleCount() {
+        return samples.get();
+    }
+
+    /**
+     * Get the folded-stack histogram.
+     *
+     * @return Map: folded stack - sample count, ordered by sample count, highest first.
+     */
+    public Map<String, Long> getFoldedStacks() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> entry : foldedStacks.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum()));
+        }
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            histogram.put(entry.getKey(), entry.getValue());
+        }
+        return histogram;
+    }
+
+    /**
+     * Write the folded-stack histogram, one {@code stack count} line per unique stack.
+     *
+     * @param writer Writer to write to.
+     * @throws IOException If the writer throws.
+     */
+    public void writeFoldedStacks(Writer writer) throws IOException {
+        for (Map.Entry<String, Long> entry : getFoldedStacks().entrySet()) {
+            writer.write(entry.getKey());
+            writer.write(' ');
+            writer.write(Long.toString(entry.getValue()));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Dump the folded-stack histogram into a new file in a folder.
+     *
+     * @param folder Folder to create the file in, for example the data folder of the plugin.
+     * @return The created file, named {@code Profile-<epoch ms>.folded}.
+     * @throws IOException If the file can not be written.
+     */
+    public File dump(File folder) throws IOException {
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Could not create folder " + folder.getAbsolutePath());
+        }
+        File file = new File(folder, "Profile-" + System.currentTimeMillis() + ".folded");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writeFoldedStacks(writer);
+        }
+        return file;
+    }
+
+    /**
+     * Clear collected samples.
+     */
+    public void reset() {
+        foldedStacks.clear();
+        samples.set(0L);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import com.djrapitops.plugin.logging.debug.DebugLogger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watchdog that reports {@link Timings} benchmarks that run past their threshold.
+ * <p>
+ * A daemon thread checks the running benchmarks periodically. When one has been running longer than its threshold,
+ * the stack of the thread that started it is sampled a few times with {@link Thread#getStackTrace()} and the samples
+ * are logged on a dedicated {@link DebugLogger} channel. Each running benchmark is reported at most once.
+ *
+ * @author AuroraLS3
+ */
+public class SlowOperationWatchdog {
+
+    private final Timings timings;
+    private final DebugLogger debugLogger;
+    private final String channel;
+
+    private final Map<String, Long> thresholds;
+    private final Set<RunningBenchmark> reported;
+
+    private volatile long defaultThresholdNs;
+    private volatile long checkIntervalMs;
+    private volatile int sampleCount;
+    private volatile long sampleIntervalMs;
+
+    private Thread watchdog;
+
+    /**
+     * Create a new SlowOperationWatchdog that logs on the {@code Slow Operations} channel.
+     *
+     * @param timings     Timings to watch.
+     * @param debugLogger DebugLogger to log the slow operations on.
+     */
+    public SlowOperationWatchdog(Timings timings, DebugLogger debugLogger) {
+        this(timings, debugLogger, "Slow Operations");
+    }
+
+    /**
+     * Create a new SlowOperationWatchdog.
+     *
+     * @param timings     Timings to watch.
+     * @param debugLogger DebugLogger to log the slow operations on.
+     * @param channel     Debug channel to log the slow operations on.
+     */
+    public SlowOperationWatchdog(Timings timings, DebugLogger debugLogger, String channel) {
+        this.timings = timings;
+        this.debugLogger = debugLogger;
+        this.channel = channel;
+        thresholds = new ConcurrentHashMap<>();
+        reported = Collections.newSetFromMap(new IdentityHashMap<>());
+        defaultThresholdNs = TimeUnit.SECONDS.toNanos(1L);
+        checkIntervalMs = 50L;
+        sampleCount = 3;
+        sampleIntervalMs = 20L;
+    }
+
+    /**
+     * Set the threshold used for benchmarks that have no specific threshold.
+     *
+     * @param amount Amount of time.
+     * @param unit   Unit of the amount.
+     */
+    public void setDefaultThreshold(long amount, TimeUnit unit) {
+        defaultThresholdNs = unit.toNanos(amount);
+    }
+
+    /**
+     * Set the threshold for benchmarks with a specific name.
+     *
+     * @param name   Name of the benchmark.
+     * @param amount Amount of time.
+     * @param unit   Unit of the amount.
+     */
+    public void setThreshold(String name, long amount, TimeUnit unit) {
+        thresholds.put(name, unit.toNanos(amount));
+    }
+
+    /**
+     * Change how many stack samples are taken of a slow operation.
+     *
+     * @param count      Number of samples, at least 1.
+     * @param intervalMs Milliseconds between the samples.
+     * @throws IllegalArgumentException If count is less than 1 or interval is negative.
+     */
+    public void setSampling(int count, long intervalMs) {
+        if (count < 1 || intervalMs < 0) {
+            throw new IllegalArgumentException("Sample count must be at least 1 and interval non-negative");
+        }
+        this.sampleCount = count;
+        this.sampleIntervalMs = intervalMs;
+    }
+
+    /**
+     * Change how often the running benchmarks are checked.
+     *
+     * @param intervalMs Milliseconds between checks, at least 1.
+     */
+    public void setCheckInterval(long intervalMs) {
+        this.checkIntervalMs = Math.max(1L, intervalMs);
+    }
+
+    /**
+     * Start the watchdog thread, if it is not running.
+     */
+    public synchronized void start() {
+        if (watchdog != null) {
+            return;
+        }
+        watchdog = new Thread(this::watch, "APF Slow Operation Watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    /**
+     * Stop the watchdog thread.
+     */
+    public synchronized void stop() {
+        if (watchdog != null) {
+            watchdog.interrupt();
+            watchdog = null;
+        }
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                check();
+                Thread.sleep(checkIntervalMs);
+            }
+        } catch (InterruptedException stopped) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Check running benchmarks once and report the ones that exceed their threshold.
+     *
+     * @throws InterruptedException If interrupted while sampling.
+     */
+    void check() throws InterruptedException {
+        Collection<RunningBenchmark> running = timings.getRunning();
+        reported.retainAll(running);
+
+        long now = System.nanoTime();
+        for (RunningBenchmark benchmark : running) {
+            long elapsedNs = now - benchmark.getStartNs();
+            long thresholdNs = thresholds.getOrDefault(benchmark.getName(), defaultThresholdNs);
+            if (elapsedNs > thresholdNs && reported.add(benchmark)) {
+                report(benchmark, thresholdNs);
+            }
+        }
+    }
+
+    private void report(RunningBenchmark benchmark, long thresholdNs) throws InterruptedException {
+        Thread thread = benchmark.getThread();
+        List<String> lines = new ArrayList<>();
+        lines.add("'" + benchmark.getName() + "' on thread '" + thread.getName() + "' exceeded "
+                + TimeUnit.NANOSECONDS.toMillis(thresholdNs) + " ms");
+
+        StackTraceElement[] previous = null;
+        int samples = sampleCount;
+        for (int i = 1; i <= samples; i++) {
+            if (!timings.isRunning(benchmark)) {
+                lines.add("Ended before sample " + i + '/' + samples);
+                break;
+            }
+            StackTraceElement[] stack = thread.getStackTrace();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - benchmark.getStartNs());
+            if (Arrays.equals(stack, previous)) {
+                lines.add("Sample " + i + '/' + samples + " at " + elapsedMs + " ms: same as previous");
+            } else {
+                lines.add("Sample " + i + '/' + samples + " at " + elapsedMs + " ms:");
+                for (StackTraceElement element : stack) {
+                    lines.add("   " + element);
+                }
+            }
+            previous = stack;
+            if (i < samples) {
+                Thread.sleep(sampleIntervalMs);
+            }
+        }
+        debugLogger.logOn(channel, lines.toArray(new String[0]));
+    }
+}
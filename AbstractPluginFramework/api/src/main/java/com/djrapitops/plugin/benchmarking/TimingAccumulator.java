@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import java.util.Arrays;
+
+/**
+ * Results of a single benchmark name in {@link Timings}, stored by its interned id.
+ *
+ * @author AuroraLS3
+ */
+class TimingAccumulator {
+
+    private static final int PERCENTILE_WINDOW = 1024;
+    private static final int INITIAL_WINDOW = 16;
+
+    private final int id;
+    private final String name;
+    private final String collationKey;
+
+    private volatile RunningBenchmark running;
+    private volatile boolean pinned;
+
+    private long count;
+    private long averageNs;
+    private long averageMemory;
+    private long[] durations;
+
+    TimingAccumulator(int id, String name) {
+        this.id = id;
+        this.name = name;
+        this.collationKey = name.toLowerCase();
+    }
+
+    int getId() {
+        return id;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Check if the id of this accumulator has been given out with {@link Timings#getId(String)}.
+     *
+     * @return true if the accumulator has to be kept on reset.
+     */
+    boolean isPinned() {
+        return pinned;
+    }
+
+    void pin() {
+        pinned = true;
+    }
+
+    RunningBenchmark getRunning() {
+        return running;
+    }
+
+    void start(RunningBenchmark benchmark) {
+        running = benchmark;
+    }
+
+    /**
+     * Clear the running benchmark if it is still the given one.
+     *
+     * @param benchmark Benchmark that was ended.
+     */
+    synchronized boolean clearRunning(RunningBenchmark benchmark) {
+        if (running != benchmark) {
+            return false;
+        }
+        running = null;
+        return true;
+    }
+
+    synchronized void add(long ns, long memory) {
+        averageNs = (ns + averageNs * count) / (count + 1);
+        averageMemory = (memory + averageMemory * count) / (count + 1);
+        // The window grows with the results, so rarely ended benchmarks do not hold a full window.
+        if (durations == null) {
+            durations = new long[INITIAL_WINDOW];
+        } else if (count == durations.length && durations.length < PERCENTILE_WINDOW) {
+            durations = Arrays.copyOf(durations, Math.min(PERCENTILE_WINDOW, durations.length * 2));
+        }
+        durations[(int) (count % durations.length)] = ns;
+        count++;
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    synchronized Benchmark toAverage() {
+        return new Benchmark(name, collationKey, averageNs, averageMemory);
+    }
+
+    synchronized TimingSummary summarize() {
+        long[] sortedNs = durations != null ? Arrays.copyOf(durations, (int) Math.min(count, durations.length)) : new long[0];
+        Arrays.sort(sortedNs);
+        return TimingSummary.fromDurations(name, count, averageNs, sortedNs);
+    }
+
+    synchronized void reset() {
+        running = null;
+        count = 0;
+        averageNs = 0;
+        averageMemory = 0;
+        durations = null;
+    }
+}
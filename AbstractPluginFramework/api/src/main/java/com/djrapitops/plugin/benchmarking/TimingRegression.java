@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a benchmark that got slower compared to a baseline {@link TimingsSnapshot}.
+ *
+ * @author AuroraLS3
+ * @see TimingsSnapshot#findRegressions(TimingsSnapshot, double)
+ */
+public class TimingRegression {
+
+    private final TimingSummary baseline;
+    private final TimingSummary current;
+
+    TimingRegression(TimingSummary baseline, TimingSummary current) {
+        this.baseline = baseline;
+        this.current = current;
+    }
+
+    /**
+     * Get name of the benchmark.
+     *
+     * @return Name defined in {@link Timings}.
+     */
+    public String getName() {
+        return current.getName();
+    }
+
+    /**
+     * Get the summary of the benchmark in the baseline snapshot.
+     *
+     * @return Baseline summary.
+     */
+    public TimingSummary getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * Get the summary of the benchmark in the compared snapshot.
+     *
+     * @return Current summary.
+     */
+    public TimingSummary getCurrent() {
+        return current;
+    }
+
+    /**
+     * Get relative change of the mean duration.
+     *
+     * @return For example 0.5 when the mean is 50% higher than in the baseline.
+     */
+    public double getMeanChange() {
+        return change(baseline.getMeanNs(), current.getMeanNs());
+    }
+
+    /**
+     * Get relative change of the 95th percentile duration.
+     *
+     * @return For example 0.5 when the percentile is 50% higher than in the baseline.
+     */
+    public double getP95Change() {
+        return change(baseline.getP95Ns(), current.getP95Ns());
+    }
+
+    private static double change(long before, long after) {
+        if (before <= 0L) {
+            return after > 0L ? Double.POSITIVE_INFINITY : 0.0;
+        }
+        return (after - before) / (double) before;
+    }
+
+    private static String formatDuration(long ns) {
+        long millisecondNs = TimeUnit.MILLISECONDS.toNanos(1);
+        return ns < millisecondNs ? ns + " ns" : (ns / millisecondNs) + " ms";
+    }
+
+    private static String formatChange(double change) {
+        return Double.isInfinite(change) ? "new" : (change >= 0 ? "+" : "") + Math.round(change * 100.0) + "%";
+    }
+
+    @Override
+    public String toString() {
+        return getName() +
+                ": mean " + formatDuration(baseline.getMeanNs()) + " -> " + formatDuration(current.getMeanNs()) +
+                " (" + formatChange(getMeanChange()) + ")" +
+                ", p95 " + formatDuration(baseline.getP95Ns()) + " -> " + formatDuration(current.getP95Ns()) +
+                " (" + formatChange(getP95Change()) + ")";
+    }
+}
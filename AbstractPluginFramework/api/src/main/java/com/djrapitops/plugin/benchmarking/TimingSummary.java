@@ -0,0 +1,148 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import java.util.Objects;
+
+/**
+ * Summary of the results of a named benchmark in a {@link TimingsSnapshot}.
+ *
+ * @author AuroraLS3
+ */
+public class TimingSummary {
+
+    private final String name;
+    private final long count;
+    private final long meanNs;
+    private final long p50Ns;
+    private final long p95Ns;
+    private final long p99Ns;
+
+    TimingSummary(String name, long count, long meanNs, long p50Ns, long p95Ns, long p99Ns) {
+        this.name = name;
+        this.count = count;
+        this.meanNs = meanNs;
+        this.p50Ns = p50Ns;
+        this.p95Ns = p95Ns;
+        this.p99Ns = p99Ns;
+    }
+
+    static TimingSummary fromDurations(String name, long count, long meanNs, long[] sortedNs) {
+        return new TimingSummary(name, count, meanNs,
+                percentile(sortedNs, 50), percentile(sortedNs, 95), percentile(sortedNs, 99));
+    }
+
+    private static long percentile(long[] sortedNs, int percentile) {
+        if (sortedNs.length == 0) {
+            return 0L;
+        }
+        // Nearest-rank method
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedNs.length);
+        return sortedNs[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Get name of the benchmark.
+     *
+     * @return Name defined in {@link Timings}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get how many times the benchmark had ended when the snapshot was taken.
+     *
+     * @return Count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the mean duration of the benchmark.
+     *
+     * @return Nanoseconds.
+     */
+    public long getMeanNs() {
+        return meanNs;
+    }
+
+    /**
+     * Get the median duration of the latest runs of the benchmark.
+     *
+     * @return Nanoseconds.
+     */
+    public long getP50Ns() {
+        return p50Ns;
+    }
+
+    /**
+     * Get the 95th percentile duration of the latest runs of the benchmark.
+     *
+     * @return Nanoseconds.
+     */
+    public long getP95Ns() {
+        return p95Ns;
+    }
+
+    /**
+     * Get the 99th percentile duration of the latest runs of the benchmark.
+     *
+     * @return Nanoseconds.
+     */
+    public long getP99Ns() {
+        return p99Ns;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TimingSummary)) return false;
+        TimingSummary that = (TimingSummary) o;
+        return count == that.count &&
+                meanNs == that.meanNs &&
+                p50Ns == that.p50Ns &&
+                p95Ns == that.p95Ns &&
+                p99Ns == that.p99Ns &&
+                Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, count, meanNs, p50Ns, p95Ns, p99Ns);
+    }
+
+    @Override
+    public String toString() {
+        return "TimingSummary{" +
+                "name='" + name + '\'' +
+                ", count=" + count +
+                ", meanNs=" + meanNs +
+                ", p50Ns=" + p50Ns +
+                ", p95Ns=" + p95Ns +
+                ", p99Ns=" + p99Ns +
+                '}';
+    }
+}
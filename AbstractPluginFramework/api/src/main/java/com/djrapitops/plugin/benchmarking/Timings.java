@@ -26,25 +26,92 @@ package com.djrapitops.plugin.benchmarking;
 import com.djrapitops.plugin.logging.debug.DebugLogger;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class that manages benchmarks and their results.
+ * <p>
+ * Each benchmark name is interned to a dense integer id on first use, and results are stored in an array indexed
+ * by that id. Frequently timed code can look up the id once with {@link #getId(String)} and use
+ * {@link #start(int)} and {@link #end(int)} to skip the name lookup.
  *
  * @author AuroraLS3
  */
 public class Timings {
 
-    private final Map<String, Benchmark> rollingAverage;
-    private final Map<String, Long> timesRun;
-    private final Map<String, RunningBenchmark> running;
+    private final Map<String, Integer> ids;
+    private final Deque<Integer> freeIds;
+    private volatile TimingAccumulator[] accumulators;
+    private int size;
 
     private final DebugLogger debugLogger;
 
     public Timings(DebugLogger debugLogger) {
         this.debugLogger = debugLogger;
-        rollingAverage = new HashMap<>();
-        timesRun = new HashMap<>();
-        running = new HashMap<>();
+        ids = new ConcurrentHashMap<>();
+        freeIds = new ArrayDeque<>();
+        accumulators = new TimingAccumulator[16];
+    }
+
+    /**
+     * Get the interned id of a benchmark name, registering the name if it has not been seen before.
+     * <p>
+     * The id stays valid for the lifetime of this object, including after {@link #reset()}.
+     *
+     * @param name Name of the benchmark.
+     * @return id to use with {@link #start(int)} and {@link #end(int)}.
+     */
+    public int getId(String name) {
+        int id = idOf(name);
+        accumulator(id).pin();
+        return id;
+    }
+
+    private int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : register(name);
+    }
+
+    private synchronized int register(String name) {
+        Integer existing = ids.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        TimingAccumulator[] current = accumulators;
+        int id;
+        if (!freeIds.isEmpty()) {
+            id = freeIds.poll();
+        } else {
+            id = size++;
+            if (id == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+        }
+        current[id] = new TimingAccumulator(id, name);
+        accumulators = current;
+        ids.put(name, id);
+        return id;
+    }
+
+    private TimingAccumulator accumulator(String name) {
+        while (true) {
+            int id = idOf(name);
+            TimingAccumulator[] current = accumulators;
+            TimingAccumulator accumulator = current[id];
+            // The name may have been released by reset() after the id was looked up.
+            if (accumulator != null && accumulator.getName().equals(name)) {
+                return accumulator;
+            }
+        }
+    }
+
+    private TimingAccumulator accumulator(int id) {
+        TimingAccumulator[] current = accumulators;
+        TimingAccumulator accumulator = id >= 0 && id < current.length ? current[id] : null;
+        if (accumulator == null) {
+            throw new IllegalArgumentException("Unknown timing id: " + id);
+        }
+        return accumulator;
     }
 
     /**
@@ -53,35 +120,54 @@ public class Timings {
      * @param name Name of the benchmark.
      */
     public void start(String name) {
-        running.put(name, new RunningBenchmark(name));
+        start(accumulator(name));
+    }
+
+    /**
+     * Start a new {@link RunningBenchmark} for the given interned id.
+     *
+     * @param id id given by {@link #getId(String)}.
+     * @throws IllegalArgumentException If the id was not given by this object.
+     */
+    public void start(int id) {
+        start(accumulator(id));
+    }
+
+    private void start(TimingAccumulator accumulator) {
+        accumulator.start(new RunningBenchmark(accumulator.getId(), accumulator.getName()));
     }
 
     /**
      * End a {@link RunningBenchmark} with the given name.
      *
      * @param name Name of the benchmark.
-     * @return Result of the {@link Benchmark}.
+     * @return Result of the {@link Benchmark}, empty if the benchmark is not running.
      */
     public Optional<Benchmark> end(String name) {
-        RunningBenchmark bench = running.get(name);
-        if (bench == null) {
+        Integer id = ids.get(name);
+        TimingAccumulator[] current = accumulators;
+        TimingAccumulator accumulator = id != null ? current[id] : null;
+        return accumulator != null && accumulator.getName().equals(name) ? end(accumulator) : Optional.empty();
+    }
+
+    /**
+     * End a {@link RunningBenchmark} for the given interned id.
+     *
+     * @param id id given by {@link #getId(String)}.
+     * @return Result of the {@link Benchmark}, empty if the benchmark is not running.
+     * @throws IllegalArgumentException If the id was not given by this object.
+     */
+    public Optional<Benchmark> end(int id) {
+        return end(accumulator(id));
+    }
+
+    private Optional<Benchmark> end(TimingAccumulator accumulator) {
+        RunningBenchmark bench = accumulator.getRunning();
+        if (bench == null || !accumulator.clearRunning(bench)) {
             return Optional.empty();
         }
         Benchmark result = bench.end();
-
-        Long times = timesRun.getOrDefault(name, 0L);
-        Benchmark currentAverage = rollingAverage.get(name);
-
-        long weighedAvgNs = currentAverage != null
-                ? (result.getNs() + currentAverage.getNs() * times) / (times + 1)
-                : result.getNs();
-        long weighedAvgMem = currentAverage != null
-                ? (result.getUsedMemory() + currentAverage.getUsedMemory() * times) / (times + 1)
-                : result.getUsedMemory();
-
-        rollingAverage.put(name, new Benchmark(name, weighedAvgNs, weighedAvgMem));
-        timesRun.put(name, times + 1L);
-
+        accumulator.add(result.getNs(), result.getUsedMemory());
         return Optional.of(result);
     }
 
@@ -93,17 +179,104 @@ public class Timings {
      * @return Result of the {@link Benchmark}.
      */
     public Optional<Benchmark> end(String debugChannel, String name) {
-        Optional<Benchmark> benchmark = end(name);
+        return log(debugChannel, end(name));
+    }
+
+    /**
+     * End a {@link RunningBenchmark} for the given interned id and log the result in the given debug channel.
+     *
+     * @param debugChannel Channel to log the result in.
+     * @param id           id given by {@link #getId(String)}.
+     * @return Result of the {@link Benchmark}.
+     */
+    public Optional<Benchmark> end(String debugChannel, int id) {
+        return log(debugChannel, end(id));
+    }
+
+    private Optional<Benchmark> log(String debugChannel, Optional<Benchmark> benchmark) {
         benchmark.ifPresent(bench -> debugLogger.logOn(debugChannel, bench.toString()));
         return benchmark;
     }
 
     /**
      * Clear references to {@link RunningBenchmark}s and result {@link Benchmark}s from memory.
+     * <p>
+     * The counts of {@link #getTimesRun(String)} are also set back to 0.
+     * Names that have only been used by name are released. Names whose id has been given out by
+     * {@link #getId(String)} are kept, so that ids held by callers remain valid.
      */
-    public void reset() {
-        running.clear();
-        rollingAverage.clear();
+    public synchronized void reset() {
+        TimingAccumulator[] current = accumulators;
+        for (int id = 0; id < size; id++) {
+            TimingAccumulator accumulator = current[id];
+            if (accumulator == null) {
+                continue;
+            }
+            accumulator.reset();
+            if (!accumulator.isPinned()) {
+                ids.remove(accumulator.getName());
+                current[id] = null;
+                freeIds.add(id);
+            }
+        }
+    }
+
+    /**
+     * Get the {@link RunningBenchmark}s that have not yet ended.
+     *
+     * @return Running benchmarks at the time of the call.
+     */
+    Collection<RunningBenchmark> getRunning() {
+        List<RunningBenchmark> running = new ArrayList<>();
+        for (TimingAccumulator accumulator : accumulators) {
+            RunningBenchmark benchmark = accumulator != null ? accumulator.getRunning() : null;
+            if (benchmark != null) {
+                running.add(benchmark);
+            }
+        }
+        return running;
+    }
+
+    /**
+     * Check if the given {@link RunningBenchmark} has not yet ended.
+     *
+     * @param benchmark Benchmark given by {@link #getRunning()}.
+     * @return true if it is still running.
+     */
+    boolean isRunning(RunningBenchmark benchmark) {
+        TimingAccumulator[] current = accumulators;
+        int id = benchmark.getId();
+        TimingAccumulator accumulator = id >= 0 && id < current.length ? current[id] : null;
+        return accumulator != null && accumulator.getRunning() == benchmark;
+    }
+
+    /**
+     * Get how many times a {@link Benchmark} with the given name has ended.
+     *
+     * @param name Name of the benchmark.
+     * @return Count since last {@link #reset()}, 0 if never ended.
+     */
+    public long getTimesRun(String name) {
+        Integer id = ids.get(name);
+        TimingAccumulator accumulator = id != null ? accumulators[id] : null;
+        return accumulator != null && accumulator.getName().equals(name) ? accumulator.getCount() : 0L;
+    }
+
+    /**
+     * Take a snapshot of the current results.
+     * <p>
+     * Percentiles are calculated from the latest 1024 results of each benchmark.
+     *
+     * @return Snapshot that can be saved or compared against a baseline.
+     */
+    public TimingsSnapshot snapshot() {
+        List<TimingSummary> summaries = new ArrayList<>();
+        for (TimingAccumulator accumulator : accumulators) {
+            if (accumulator != null && accumulator.getCount() > 0) {
+                summaries.add(accumulator.summarize());
+            }
+        }
+        return new TimingsSnapshot(System.currentTimeMillis(), summaries);
     }
 
     /**
@@ -112,8 +285,13 @@ public class Timings {
      * @return List that contains one {@link Benchmark} for each name.
      */
     public List<Benchmark> getAverageResults() {
-        List<Benchmark> averageResults = new ArrayList<>(rollingAverage.values());
+        List<Benchmark> averageResults = new ArrayList<>();
+        for (TimingAccumulator accumulator : accumulators) {
+            if (accumulator != null && accumulator.getCount() > 0) {
+                averageResults.add(accumulator.toAverage());
+            }
+        }
         Collections.sort(averageResults);
         return averageResults;
     }
-}
\ No newline at end of file
+}
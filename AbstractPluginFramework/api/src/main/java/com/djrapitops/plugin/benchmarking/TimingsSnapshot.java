@@ -0,0 +1,203 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Point in time summary of {@link Timings} results that can be saved to a file and compared against a baseline.
+ * <p>
+ * To obtain a snapshot of the current results, use {@link Timings#snapshot()}.
+ * <p>
+ * Snapshots are stored as UTF-8 text, a header line followed by one tab separated line per benchmark:
+ * {@code name count mean p50 p95 p99} with durations in nanoseconds.
+ *
+ * @author AuroraLS3
+ */
+public class TimingsSnapshot {
+
+    private static final String HEADER = "# APF Timings snapshot v1 ";
+
+    private final long created;
+    private final Map<String, TimingSummary> summaries;
+
+    TimingsSnapshot(long created, Collection<TimingSummary> summaries) {
+        this.created = created;
+        this.summaries = new TreeMap<>();
+        for (TimingSummary summary : summaries) {
+            this.summaries.put(summary.getName(), summary);
+        }
+    }
+
+    /**
+     * Load a snapshot from a file saved with {@link #save(File)}.
+     *
+     * @param file File to read.
+     * @return The loaded snapshot.
+     * @throws IOException If the file can not be read or is not a snapshot file.
+     */
+    public static TimingsSnapshot load(File file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(HEADER)) {
+                throw new IOException(file.getName() + " is not a Timings snapshot file");
+            }
+            long created = parseLong(file, header.substring(HEADER.length()));
+
+            List<TimingSummary> summaries = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                if (columns.length != 6) {
+                    throw new IOException(file.getName() + " has a malformed line: " + line);
+                }
+                summaries.add(new TimingSummary(unescape(columns[0]),
+                        parseLong(file, columns[1]), parseLong(file, columns[2]), parseLong(file, columns[3]),
+                        parseLong(file, columns[4]), parseLong(file, columns[5])));
+            }
+            return new TimingsSnapshot(created, summaries);
+        }
+    }
+
+    private static long parseLong(File file, String value) throws IOException {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException(file.getName() + " has a malformed number: " + value, e);
+        }
+    }
+
+    private static String escape(String name) {
+        return name.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+    }
+
+    private static String unescape(String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '\\' && i + 1 < name.length()) {
+                char next = name.charAt(++i);
+                builder.append(next == 't' ? '\t' : next == 'n' ? '\n' : next);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Save the snapshot to a file, overwriting existing file.
+     *
+     * @param file File to write to, parent folders are created if necessary.
+     * @throws IOException If write fails.
+     */
+    public void save(File file) throws IOException {
+        File folder = file.getAbsoluteFile().getParentFile();
+        if (folder != null && !folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Could not create folder " + folder.getAbsolutePath());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.write(Long.toString(created));
+            writer.newLine();
+            for (TimingSummary summary : summaries.values()) {
+                writer.write(escape(summary.getName()));
+                writer.write('\t');
+                writer.write(Long.toString(summary.getCount()));
+                writer.write('\t');
+                writer.write(Long.toString(summary.getMeanNs()));
+                writer.write('\t');
+                writer.write(Long.toString(summary.getP50Ns()));
+                writer.write('\t');
+                writer.write(Long.toString(summary.getP95Ns()));
+                writer.write('\t');
+                writer.write(Long.toString(summary.getP99Ns()));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Find benchmarks that got slower compared to a baseline.
+     * <p>
+     * A benchmark is regarded as regressed if its mean or 95th percentile duration is higher than the baseline by more
+     * than the tolerance. Benchmarks that are not present in both snapshots are ignored.
+     *
+     * @param baseline  Snapshot to compare against, for example one saved before a plugin update.
+     * @param tolerance Allowed relative increase, for example 0.2 allows durations to be 20% higher.
+     * @return List of regressions, largest increase of the mean first.
+     */
+    public List<TimingRegression> findRegressions(TimingsSnapshot baseline, double tolerance) {
+        List<TimingRegression> regressions = new ArrayList<>();
+        for (TimingSummary current : summaries.values()) {
+            TimingSummary before = baseline.summaries.get(current.getName());
+            if (before == null || before.getCount() == 0L || current.getCount() == 0L) {
+                continue;
+            }
+            TimingRegression comparison = new TimingRegression(before, current);
+            if (comparison.getMeanChange() > tolerance || comparison.getP95Change() > tolerance) {
+                regressions.add(comparison);
+            }
+        }
+        regressions.sort(Comparator.comparingDouble(TimingRegression::getMeanChange).reversed());
+        return regressions;
+    }
+
+    /**
+     * Get the epoch millisecond the snapshot was taken.
+     *
+     * @return Epoch ms.
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * Get the summary of a benchmark.
+     *
+     * @param name Name of the benchmark, case sensitive.
+     * @return Optional of the summary, empty if the benchmark is not in this snapshot.
+     */
+    public Optional<TimingSummary> getSummary(String name) {
+        return Optional.ofNullable(summaries.get(name));
+    }
+
+    /**
+     * Get summaries of all benchmarks in this snapshot.
+     *
+     * @return Unmodifiable collection ordered by name.
+     */
+    public Collection<TimingSummary> getSummaries() {
+        return Collections.unmodifiableCollection(summaries.values());
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.command.defaultcmds;
+
+import com.djrapitops.plugin.IPlugin;
+import com.djrapitops.plugin.command.CommandNode;
+import com.djrapitops.plugin.command.CommandType;
+import com.djrapitops.plugin.command.Sender;
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.debug.JournalDebugLogger;
+import com.djrapitops.plugin.logging.debug.JournalDecoder;
+import com.djrapitops.plugin.task.AbsRunnable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * CommandNode that renders the binary journal of a {@link JournalDebugLogger} as text.
+ * <p>
+ * Usage: {@code journal tail [amount]} or {@code journal export}.
+ * Exports are written next to the journal segments.
+ * The journal is read on an async task, so that the server thread is not blocked by the disk.
+ *
+ * @author AuroraLS3
+ */
+public class DebugJournalCommand extends CommandNode {
+
+    private static final int DEFAULT_TAIL = 20;
+    private static final int MAX_TAIL = 100;
+
+    private final IPlugin plugin;
+    private final File journalFolder;
+
+    /**
+     * Create a new DebugJournalCommand for the journal in the default folder.
+     *
+     * @param plugin     Plugin whose data folder contains the journal.
+     * @param permission Permission required to use this command.
+     */
+    public DebugJournalCommand(IPlugin plugin, String permission) {
+        this(plugin, new File(plugin.getDataFolder(), JournalDebugLogger.DEFAULT_FOLDER), permission);
+    }
+
+    /**
+     * Create a new DebugJournalCommand.
+     *
+     * @param plugin        Plugin used for error handling.
+     * @param journalFolder Folder given to the {@link JournalDebugLogger}.
+     * @param permission    Permission required to use this command.
+     */
+    public DebugJournalCommand(IPlugin plugin, File journalFolder, String permission) {
+        super("journal", permission, CommandType.ALL);
+        this.plugin = plugin;
+        this.journalFolder = journalFolder;
+        setShortHelp("Read the debug journal");
+        setArguments("<tail/export>", "[amount]");
+        setInDepthHelp(
+                "tail [amount] - Show latest lines of the journal, default 20, at most 100",
+                "export - Write the whole journal as a text file"
+        );
+    }
+
+    @Override
+    public void onCommand(Sender sender, String commandLabel, String[] args) {
+        if (args.length < 1) {
+            sender.sendMessage("§cRequires arguments: <tail/export> [amount]");
+            return;
+        }
+        if ("tail".equalsIgnoreCase(args[0])) {
+            int amount = DEFAULT_TAIL;
+            if (args.length >= 2) {
+                try {
+                    amount = Integer.parseInt(args[1]);
+                } catch (NumberFormatException e) {
+                    sender.sendMessage("§cAmount needs to be a number, was '" + args[1] + "'");
+                    return;
+                }
+            }
+            if (amount < 1 || amount > MAX_TAIL) {
+                sender.sendMessage("§cAmount needs to be between 1 and " + MAX_TAIL + ", was " + amount);
+                return;
+            }
+            int tailAmount = amount;
+            runAsync(sender, "tail", () -> tail(sender, tailAmount));
+        } else if ("export".equalsIgnoreCase(args[0])) {
+            runAsync(sender, "export", () -> export(sender));
+        } else {
+            sender.sendMessage("§cUnknown action '" + args[0] + "', use tail or export");
+        }
+    }
+
+    private void runAsync(Sender sender, String action, JournalAction journalAction) {
+        plugin.getRunnableFactory().create("Debug journal " + action, new AbsRunnable() {
+            @Override
+            public void run() {
+                try {
+                    journalAction.run();
+                } catch (IOException e) {
+                    plugin.getErrorHandler().log(L.WARN, DebugJournalCommand.class, e);
+                    sender.sendMessage("§c" + e.getMessage());
+                }
+            }
+        }).runTaskAsynchronously();
+    }
+
+    private void tail(Sender sender, int amount) throws IOException {
+        List<String> lines = JournalDecoder.tail(journalFolder, amount);
+        if (lines.isEmpty()) {
+            sender.sendMessage("§eThe journal is empty");
+            return;
+        }
+        for (String line : lines) {
+            sender.sendMessage(line);
+        }
+    }
+
+    private void export(Sender sender) throws IOException {
+        File file = new File(journalFolder, "DebugJournal-export-" + System.currentTimeMillis() + ".txt");
+        long lines = JournalDecoder.export(journalFolder, file);
+        if (lines == 0L) {
+            Files.deleteIfExists(file.toPath());
+            sender.sendMessage("§eThe journal is empty");
+            return;
+        }
+        sender.sendMessage("§aExported " + lines + " lines to " + file.getName());
+    }
+
+    private interface JournalAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.command.defaultcmds;
+
+import com.djrapitops.plugin.IPlugin;
+import com.djrapitops.plugin.benchmarking.TimingRegression;
+import com.djrapitops.plugin.benchmarking.TimingsSnapshot;
+import com.djrapitops.plugin.command.CommandNode;
+import com.djrapitops.plugin.command.CommandType;
+import com.djrapitops.plugin.command.Sender;
+import com.djrapitops.plugin.logging.L;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * CommandNode that saves {@link TimingsSnapshot}s of the plugin and compares the current results against them.
+ * <p>
+ * Usage: {@code timings save <name>} or {@code timings compare <name> [tolerance %]}.
+ * Snapshots are stored in the {@code timings} folder inside the data folder of the plugin.
+ *
+ * @author AuroraLS3
+ */
+public class TimingsSnapshotCommand extends CommandNode {
+
+    private static final double DEFAULT_TOLERANCE_PERCENT = 20.0;
+
+    private final IPlugin plugin;
+
+    /**
+     * Create a new TimingsSnapshotCommand.
+     *
+     * @param plugin     Plugin whose {@link com.djrapitops.plugin.benchmarking.Timings} to use.
+     * @param permission Permission required to use this command.
+     */
+    public TimingsSnapshotCommand(IPlugin plugin, String permission) {
+        super("timings", permission, CommandType.ALL);
+        this.plugin = plugin;
+        setShortHelp("Save Timings or compare them to a saved baseline");
+        setArguments("<save/compare>", "<name>", "[tolerance %]");
+        setInDepthHelp(
+                "save <name> - Save the current Timings as a baseline",
+                "compare <name> [tolerance %] - List benchmarks that are slower than in the baseline, default tolerance 20%"
+        );
+    }
+
+    @Override
+    public void onCommand(Sender sender, String commandLabel, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage("§cRequires arguments: <save/compare> <name> [tolerance %]");
+            return;
+        }
+        String name = args[1];
+        if (!name.matches("[A-Za-z0-9_-]+")) {
+            sender.sendMessage("§cSnapshot name can only contain letters, numbers, '_' and '-'");
+            return;
+        }
+        File file = new File(new File(plugin.getDataFolder(), "timings"), name + ".snapshot");
+
+        try {
+            if ("save".equalsIgnoreCase(args[0])) {
+                plugin.getTimings().snapshot().save(file);
+                sender.sendMessage("§aSaved Timings snapshot '" + name + "'");
+            } else if ("compare".equalsIgnoreCase(args[0])) {
+                compare(sender, name, file, args);
+            } else {
+                sender.sendMessage("§cUnknown action '" + args[0] + "', use save or compare");
+            }
+        } catch (IOException e) {
+            plugin.getErrorHandler().log(L.WARN, this.getClass(), e);
+            sender.sendMessage("§c" + e.getMessage());
+        }
+    }
+
+    private void compare(Sender sender, String name, File file, String[] args) throws IOException {
+        if (!file.exists()) {
+            sender.sendMessage("§cSnapshot '" + name + "' does not exist");
+            return;
+        }
+        double tolerancePercent = DEFAULT_TOLERANCE_PERCENT;
+        if (args.length >= 3) {
+            try {
+                tolerancePercent = Double.parseDouble(args[2].replace("%", ""));
+            } catch (NumberFormatException e) {
+                sender.sendMessage("§cTolerance needs to be a number, was '" + args[2] + "'");
+                return;
+            }
+        }
+
+        TimingsSnapshot baseline = TimingsSnapshot.load(file);
+        List<TimingRegression> regressions = plugin.getTimings().snapshot()
+                .findRegressions(baseline, tolerancePercent / 100.0);
+        if (regressions.isEmpty()) {
+            sender.sendMessage("§aNo benchmarks regressed over " + tolerancePercent + "% compared to '" + name + "'");
+            return;
+        }
+        sender.sendMessage("§e" + regressions.size() + " benchmarks regressed over " + tolerancePercent + "% compared to '" + name + "':");
+        for (TimingRegression regression : regressions) {
+            sender.sendMessage("  " + regression);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Writes lines to a file on a single background thread.
+ * <p>
+ * Producers only add records of lines to a bounded queue. The writer thread keeps the file open, flushes when enough
+ * characters are buffered or the flush interval passes, and switches to a new file when the file supplier
+ * returns a different file, for example when the day changes. Lines can also be offered with an explicit target file.
+ * The lines of a record are written together, and a record that does not fit into the queue is dropped as a whole
+ * and its lines counted.
+ *
+ * @author AuroraLS3
+ */
+public class AsyncFileWriter implements AutoCloseable {
+
+    private static final int MAX_BATCH = 512;
+
+    private final Supplier<File> file;
+    private final Supplier<ErrorHandler> errorHandler;
+    private final Consumer<File> onFileClosed;
+    private final BlockingQueue<QueuedRecord> queue;
+    private final int queueCapacity;
+    private final AtomicInteger queuedLines;
+    private final int flushChars;
+    private final long flushIntervalMs;
+
+    private final AtomicLong droppedLines;
+    private final Thread writerThread;
+    private volatile boolean closed;
+
+    private File currentFile;
+    private Writer writer;
+    private int unflushedChars;
+    private long lastFlush;
+
+    /**
+     * Create and start a new AsyncFileWriter.
+     *
+     * @param name            Name used for the writer thread.
+     * @param file            Supplier for the file to append to, called on the writer thread for each batch.
+     * @param errorHandler    Supplier for the {@link ErrorHandler} in case writing fails.
+     * @param queueCapacity   How many lines can wait to be written before new records are dropped.
+     * @param flushChars      How many characters can be buffered before flushing to disk.
+     * @param flushIntervalMs How long lines can stay buffered before flushing to disk.
+     */
+    public AsyncFileWriter(
+            String name,
+            Supplier<File> file,
+            Supplier<ErrorHandler> errorHandler,
+            int queueCapacity,
+            int flushChars,
+            long flushIntervalMs
+    ) {
+        this(name, file, errorHandler, queueCapacity, flushChars, flushIntervalMs, closedFile -> {
+        });
+    }
+
+    /**
+     * Create and start a new AsyncFileWriter.
+     *
+     * @param name            Name used for the writer thread.
+     * @param file            Supplier for the file to append to, called on the writer thread for each batch.
+     * @param errorHandler    Supplier for the {@link ErrorHandler} in case writing fails.
+     * @param queueCapacity   How many lines can wait to be written before new records are dropped.
+     * @param flushChars      How many characters can be buffered before flushing to disk.
+     * @param flushIntervalMs How long lines can stay buffered before flushing to disk.
+     * @param onFileClosed    Called on the writer thread after a file is closed because the target changed or on close.
+     */
+    public AsyncFileWriter(
+            String name,
+            Supplier<File> file,
+            Supplier<ErrorHandler> errorHandler,
+            int queueCapacity,
+            int flushChars,
+            long flushIntervalMs,
+            Consumer<File> onFileClosed
+    ) {
+        this.file = file;
+        this.onFileClosed = onFileClosed;
+        this.errorHandler = errorHandler;
+        this.queue = new LinkedBlockingQueue<>();
+        this.queueCapacity = queueCapacity;
+        this.queuedLines = new AtomicInteger();
+        this.flushChars = flushChars;
+        this.flushIntervalMs = flushIntervalMs;
+        droppedLines = new AtomicLong();
+
+        writerThread = new Thread(this::runWriter, "APF File Writer: " + name);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Add lines to the queue to be written.
+     *
+     * @param lines Lines to write, without line separators. The list must not be modified afterwards.
+     * @return false if the lines were dropped because the queue is full or the writer is closed.
+     */
+    public boolean offer(List<String> lines) {
+        return offer(null, lines);
+    }
+
+    /**
+     * Add lines to the queue to be written to a specific file.
+     * <p>
+     * The lines are queued and written together, or dropped together if they do not fit into the queue.
+     *
+     * @param target File to append the lines to, null to use the file supplier.
+     * @param lines  Lines to write, without line separators. The list must not be modified afterwards.
+     * @return false if the lines were dropped because the queue is full or the writer is closed.
+     */
+    public boolean offer(File target, List<String> lines) {
+        if (lines.isEmpty()) {
+            return true;
+        }
+        if (closed || !reserve(lines.size())) {
+            droppedLines.addAndGet(lines.size());
+            return false;
+        }
+        queue.add(new QueuedRecord(target, lines));
+        return true;
+    }
+
+    private boolean reserve(int lineCount) {
+        while (true) {
+            int queued = queuedLines.get();
+            // A record larger than the whole queue is still accepted into an empty queue.
+            if (queued > 0 && queued + lineCount > queueCapacity) {
+                return false;
+            }
+            if (queuedLines.compareAndSet(queued, queued + lineCount)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get how many lines were dropped because the queue was full.
+     *
+     * @return Count of dropped lines since creation.
+     */
+    public long getDroppedLines() {
+        return droppedLines.get();
+    }
+
+    /**
+     * Get how many lines are waiting to be written.
+     *
+     * @return Size of the queue.
+     */
+    public int getQueuedLines() {
+        return queuedLines.get();
+    }
+
+    /**
+     * Stop accepting lines, write the remaining queued lines and close the file.
+     * <p>
+     * Blocks until the writer thread has finished.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        writerThread.interrupt();
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        List<QueuedRecord> batch = new ArrayList<>();
+        lastFlush = System.currentTimeMillis();
+        try {
+            while (!closed || !queue.isEmpty()) {
+                QueuedRecord first = closed ? queue.poll() : pollInterruptibly();
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    write(batch);
+                    batch.clear();
+                }
+                if (unflushedChars >= flushChars || System.currentTimeMillis() - lastFlush >= flushIntervalMs) {
+                    flush();
+                }
+            }
+        } finally {
+            closeWriter();
+        }
+    }
+
+    private QueuedRecord pollInterruptibly() {
+        try {
+            return queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            // Interrupted by close() to drain the queue without waiting for the flush interval.
+            return null;
+        }
+    }
+
+    private void write(List<QueuedRecord> records) {
+        for (QueuedRecord record : records) {
+            queuedLines.addAndGet(-record.lines.size());
+        }
+        try {
+            File supplied = null;
+            for (QueuedRecord record : records) {
+                File target = record.target;
+                if (target == null) {
+                    supplied = supplied != null ? supplied : file.get();
+                    target = supplied;
+                }
+                Writer out = getWriter(target);
+                for (String line : record.lines) {
+                    out.write(line);
+                    out.write(System.lineSeparator());
+                    unflushedChars += line.length() + 1;
+                }
+            }
+        } catch (IOException e) {
+            closeWriter();
+            errorHandler.get().log(L.CRITICAL, this.getClass(), e);
+        }
+    }
+
+    private Writer getWriter(File target) throws IOException {
+        if (writer == null || !target.equals(currentFile)) {
+            closeWriter();
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(target, true), StandardCharsets.UTF_8));
+            currentFile = target;
+        }
+        return writer;
+    }
+
+    private void flush() {
+        lastFlush = System.currentTimeMillis();
+        if (writer == null || unflushedChars == 0) {
+            return;
+        }
+        unflushedChars = 0;
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            closeWriter();
+            errorHandler.get().log(L.CRITICAL, this.getClass(), e);
+        }
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        File closedFile = currentFile;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            errorHandler.get().log(L.CRITICAL, this.getClass(), e);
+        } finally {
+            writer = null;
+            currentFile = null;
+            unflushedChars = 0;
+        }
+        onFileClosed.accept(closedFile);
+    }
+
+    private static class QueuedRecord {
+        private final File target;
+        private final List<String> lines;
+
+        private QueuedRecord(File target, List<String> lines) {
+            this.target = target;
+            this.lines = lines;
+        }
+    }
+}
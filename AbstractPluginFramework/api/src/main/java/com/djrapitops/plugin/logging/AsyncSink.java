@@ -0,0 +1,255 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hands {@link LogEvent}s to a sink on its own thread through a bounded queue.
+ * <p>
+ * Used by the Combine loggers in async mode, so that a slow sink does not block the logging thread.
+ * When the queue is full the {@link BackpressurePolicy} decides what happens, and discarded events are counted.
+ * Events the sink fails to handle are counted separately, and the failures are reported to an {@link ErrorHandler}
+ * at most once a minute.
+ *
+ * @author AuroraLS3
+ */
+public class AsyncSink implements AutoCloseable {
+
+    private static final int SAMPLE_EVERY = 10;
+    private static final long POLL_MS = 100L;
+    private static final long FAILURE_REPORT_INTERVAL_MS = TimeUnit.MINUTES.toMillis(1L);
+
+    private final String name;
+    private final Consumer<LogEvent> sink;
+    private final Supplier<ErrorHandler> errorHandler;
+    private final BackpressurePolicy policy;
+    private final BlockingQueue<LogEvent> queue;
+    private final int sampleThreshold;
+
+    private final AtomicLong droppedEvents;
+    private final AtomicLong failedEvents;
+    private final AtomicLong lastFailureReport;
+    private final AtomicLong sampleCounter;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * Create and start a new AsyncSink that reports failures of the sink to {@link java.util.logging}.
+     *
+     * @param name     Name used for the thread.
+     * @param sink     Consumer of the events, called on the sink thread.
+     * @param policy   What to do when the queue is full.
+     * @param capacity Maximum amount of queued events.
+     */
+    public AsyncSink(String name, Consumer<LogEvent> sink, BackpressurePolicy policy, int capacity) {
+        this(name, sink, policy, capacity, null);
+    }
+
+    /**
+     * Create and start a new AsyncSink.
+     *
+     * @param name         Name used for the thread.
+     * @param sink         Consumer of the events, called on the sink thread.
+     * @param policy       What to do when the queue is full.
+     * @param capacity     Maximum amount of queued events.
+     * @param errorHandler Supplier for the {@link ErrorHandler} failures of the sink are reported to,
+     *                     null to report them to {@link java.util.logging}.
+     */
+    public AsyncSink(String name, Consumer<LogEvent> sink, BackpressurePolicy policy, int capacity,
+                     Supplier<ErrorHandler> errorHandler) {
+        this.name = name;
+        this.sink = sink;
+        this.policy = policy;
+        this.errorHandler = errorHandler;
+        queue = new ArrayBlockingQueue<>(capacity);
+        sampleThreshold = capacity / 2;
+        droppedEvents = new AtomicLong();
+        failedEvents = new AtomicLong();
+        lastFailureReport = new AtomicLong(System.currentTimeMillis() - FAILURE_REPORT_INTERVAL_MS);
+        sampleCounter = new AtomicLong();
+
+        thread = new Thread(this::run, "APF Log Sink: " + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queue an event for the sink.
+     *
+     * @param event Event to queue.
+     * @return false if the event was discarded.
+     */
+    public boolean offer(LogEvent event) {
+        if (closed) {
+            droppedEvents.incrementAndGet();
+            return false;
+        }
+        boolean queued = queue(event);
+        if (queued && closed && !thread.isAlive()) {
+            // Queued while close() was running, after the sink thread had already exited.
+            drainRemaining();
+        }
+        return queued;
+    }
+
+    private boolean queue(LogEvent event) {
+        switch (policy) {
+            case BLOCK:
+                return offerBlocking(event);
+            case DROP_OLDEST:
+                while (!queue.offer(event)) {
+                    if (queue.poll() != null) {
+                        droppedEvents.incrementAndGet();
+                    }
+                }
+                return true;
+            case SAMPLE:
+                if (queue.size() > sampleThreshold && sampleCounter.getAndIncrement() % SAMPLE_EVERY != 0) {
+                    droppedEvents.incrementAndGet();
+                    return false;
+                }
+                return offerOrDrop(event);
+            case DROP_NEWEST:
+            default:
+                return offerOrDrop(event);
+        }
+    }
+
+    private boolean offerBlocking(LogEvent event) {
+        try {
+            while (!queue.offer(event, POLL_MS, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    droppedEvents.incrementAndGet();
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedEvents.incrementAndGet();
+            return false;
+        }
+    }
+
+    private boolean offerOrDrop(LogEvent event) {
+        if (queue.offer(event)) {
+            return true;
+        }
+        droppedEvents.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Get how many events have been discarded because the queue was full or the sink was closed.
+     *
+     * @return Count of discarded events since creation.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Get how many events the sink has failed to handle.
+     *
+     * @return Count of events the sink threw an exception for since creation.
+     */
+    public long getFailedEvents() {
+        return failedEvents.get();
+    }
+
+    /**
+     * Stop accepting events and wait for the queued events to be handled.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainRemaining();
+    }
+
+    private synchronized void drainRemaining() {
+        LogEvent event;
+        while ((event = queue.poll()) != null) {
+            handle(event);
+        }
+    }
+
+    private void run() {
+        while (!closed || !queue.isEmpty()) {
+            LogEvent event;
+            try {
+                // Sinks may do interruptible I/O, so close() is noticed by polling instead of interrupting.
+                event = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (event != null) {
+                handle(event);
+            }
+        }
+    }
+
+    private void handle(LogEvent event) {
+        try {
+            sink.accept(event);
+        } catch (RuntimeException e) {
+            // A failing sink should not stop the thread, the other events are still handled.
+            failedEvents.incrementAndGet();
+            reportFailure(e);
+        }
+    }
+
+    private void reportFailure(RuntimeException failure) {
+        long now = System.currentTimeMillis();
+        long last = lastFailureReport.get();
+        if (now - last < FAILURE_REPORT_INTERVAL_MS || !lastFailureReport.compareAndSet(last, now)) {
+            return;
+        }
+        try {
+            if (errorHandler != null) {
+                errorHandler.get().log(L.WARN, AsyncSink.class, failure);
+            } else {
+                Logger.getLogger(AsyncSink.class.getName()).log(Level.WARNING,
+                        "Log sink '" + name + "' failed (" + failedEvents.get() + " failed events)", failure);
+            }
+        } catch (RuntimeException ignored) {
+            /* Reporting must not stop the sink thread */
+        }
+    }
+}
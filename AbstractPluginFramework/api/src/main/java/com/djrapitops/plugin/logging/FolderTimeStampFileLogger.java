@@ -27,9 +27,13 @@ import com.djrapitops.plugin.logging.error.ErrorHandler;
 
 import java.io.File;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
+import java.util.AbstractMap;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -37,6 +41,10 @@ import java.util.stream.Collectors;
  * Logging utility class that is used to log messages into files with timestamps.
  * <p>
  * This class is used by other logger classes and creating instances is not required.
+ * <p>
+ * By default lines are written on the calling thread. Call {@link #startAsync()} to hand the lines to an
+ * {@link AsyncFileWriter} instead, and {@link #close()} on shutdown to write the remaining lines.
+ * Files can be limited in size and removed after a while with {@link #setRotation(LogRotation)}.
  *
  * @author AuroraLS3
  */
@@ -47,6 +55,15 @@ public class FolderTimeStampFileLogger {
 
     private final Supplier<ErrorHandler> errorHandler;
 
+    private volatile AsyncFileWriter asyncWriter;
+    private volatile Map.Entry<String, String> dayFileName;
+
+    private volatile LogRotation rotation;
+    private final Set<File> pendingCompression;
+    private String rotationDay;
+    private int rotationIndex;
+    private long rotationBytes;
+
     /**
      * Create a new FolderTimeStampFileLogger.
      *
@@ -69,26 +86,214 @@ public class FolderTimeStampFileLogger {
         this.fileNamePrefix = fileNamePrefix;
         this.logFolder = logFolder;
         this.errorHandler = errorHandler;
+        pendingCompression = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Set the size based rotation and retention policy of the log files.
+     * <p>
+     * The log folder is checked for old files when this is set, when a file is rotated and when the day changes.
+     *
+     * @param rotation Policy to use, or null to write a single file per day without limits.
+     */
+    public synchronized void setRotation(LogRotation rotation) {
+        this.rotation = rotation;
+        rotationDay = null;
+    }
+
+    /**
+     * Start writing lines on a background thread with default settings.
+     * <p>
+     * Up to 8192 lines can be queued, and lines are flushed to disk at least once a second.
+     * Queued lines are only written on shutdown if {@link #close()} is called. The platform plugins close the
+     * {@link com.djrapitops.plugin.logging.error.FolderTimeStampErrorFileLogger} and
+     * {@link com.djrapitops.plugin.logging.debug.FolderTimeStampFileDebugLogger} in use when they are disabled,
+     * other instances need to be closed by the plugin.
+     */
+    public void startAsync() {
+        startAsync(8192, 8192, 1000L);
+    }
+
+    /**
+     * Start writing lines on a background thread.
+     * <p>
+     * Call {@link #close()} on shutdown to write the queued lines, see {@link #startAsync()}.
+     *
+     * @param queueCapacity   How many lines can wait to be written before new records are dropped.
+     * @param flushChars      How many characters can be buffered before flushing to disk.
+     * @param flushIntervalMs How long lines can stay buffered before flushing to disk.
+     */
+    public synchronized void startAsync(int queueCapacity, int flushChars, long flushIntervalMs) {
+        if (asyncWriter != null) {
+            return;
+        }
+        asyncWriter = new AsyncFileWriter(fileNamePrefix, this::getFile, errorHandler,
+                queueCapacity, flushChars, flushIntervalMs, this::onFileClosed);
+    }
+
+    private void onFileClosed(File file) {
+        LogRotation currentRotation = rotation;
+        if (pendingCompression.remove(file) && currentRotation != null) {
+            currentRotation.compress(file, errorHandler);
+        }
+    }
+
+    /**
+     * Stop writing lines on a background thread, writing any remaining queued lines before returning.
+     * <p>
+     * Lines logged afterwards are written on the calling thread.
+     */
+    public synchronized void close() {
+        AsyncFileWriter writer = asyncWriter;
+        asyncWriter = null;
+        if (writer != null) {
+            writer.close();
+        }
+        for (File file : pendingCompression) {
+            onFileClosed(file);
+        }
+    }
+
+    /**
+     * Get how many lines have been dropped because the async queue was full.
+     *
+     * @return Count of dropped lines, 0 if async mode is not in use.
+     */
+    public long getDroppedLines() {
+        AsyncFileWriter writer = asyncWriter;
+        return writer != null ? writer.getDroppedLines() : 0L;
     }
 
     public void log(String... lines) {
-        File logFile = new File(logFolder.get(), getFileName());
+        String timeStamp = getTimeStamp();
+        append(Arrays.stream(lines)
+                .map(line -> "| " + timeStamp + " | " + line)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Append lines to the current file as is, without timestamps.
+     * <p>
+     * The lines are written with a single append, so lines of concurrent calls do not interleave.
+     *
+     * @param lines Lines to append.
+     */
+    protected void append(List<String> lines) {
+        LogRotation currentRotation = rotation;
+        if (currentRotation != null) {
+            logRotating(currentRotation, lines);
+            return;
+        }
+        AsyncFileWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.offer(lines);
+            return;
+        }
+        write(getFile(), lines);
+    }
+
+    private synchronized void logRotating(LogRotation currentRotation, List<String> lines) {
+        long bytes = 0L;
+        for (String line : lines) {
+            bytes += line.length() + System.lineSeparator().length();
+        }
+        File file = selectFile(currentRotation, bytes);
+        AsyncFileWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.offer(file, lines);
+        } else {
+            write(file, lines);
+        }
+    }
+
+    private void write(File file, List<String> lines) {
         try {
-            FileLogger.appendToFile(logFile, Arrays.stream(lines)
-                    .map(line -> "| " + getTimeStamp() + " | " + line)
-                    .collect(Collectors.toList()));
+            FileLogger.appendToFile(file, lines);
         } catch (IOException e) {
             errorHandler.get().log(L.CRITICAL, this.getClass(), e);
         }
     }
 
+    private File selectFile(LogRotation currentRotation, long bytes) {
+        File folder = logFolder.get();
+        String day = today();
+        if (!day.equals(rotationDay)) {
+            if (rotationDay != null) {
+                retire(currentRotation, getRotatedFile(folder, rotationDay, rotationIndex));
+            }
+            rotationDay = day;
+            rotationIndex = findLatestIndex(folder, day);
+            rotationBytes = getRotatedFile(folder, day, rotationIndex).length();
+            currentRotation.cleanUp(folder, fileNamePrefix, getRotatedFile(folder, day, rotationIndex));
+        } else if (currentRotation.shouldRotate(rotationBytes, bytes)) {
+            retire(currentRotation, getRotatedFile(folder, day, rotationIndex));
+            rotationIndex++;
+            rotationBytes = 0L;
+            currentRotation.cleanUp(folder, fileNamePrefix, getRotatedFile(folder, day, rotationIndex));
+        }
+        rotationBytes += bytes;
+        return getRotatedFile(folder, day, rotationIndex);
+    }
+
+    private void retire(LogRotation currentRotation, File previous) {
+        if (asyncWriter != null) {
+            pendingCompression.add(previous);
+        } else {
+            currentRotation.compress(previous, errorHandler);
+        }
+    }
+
+    String today() {
+        return TimeStampFormat.day().now();
+    }
+
+    private int findLatestIndex(File folder, String day) {
+        String dayPrefix = fileNamePrefix + "-" + day + ".";
+        int latest = 0;
+        boolean latestCompressed = false;
+        for (File file : LogRotation.getLogFiles(folder, fileNamePrefix)) {
+            String name = file.getName();
+            if (!name.startsWith(dayPrefix)) {
+                continue;
+            }
+            // Name ends with "txt", "txt.gz", "N.txt" or "N.txt.gz" after the day
+            boolean compressed = name.endsWith(".gz");
+            String rest = name.substring(dayPrefix.length(), name.length() - (compressed ? ".gz" : "").length());
+            int parsed;
+            try {
+                parsed = rest.equals("txt") ? 0 : Integer.parseInt(rest.substring(0, rest.length() - ".txt".length()));
+            } catch (NumberFormatException ignored) {
+                continue;
+            }
+            if (parsed > latest || parsed == latest && !compressed) {
+                latest = parsed;
+                latestCompressed = compressed;
+            }
+        }
+        return latestCompressed ? latest + 1 : latest;
+    }
+
+    private File getRotatedFile(File folder, String day, int index) {
+        String suffix = index == 0 ? ".txt" : "." + index + ".txt";
+        return new File(folder, fileNamePrefix + "-" + day + suffix);
+    }
+
+    private File getFile() {
+        return new File(logFolder.get(), getFileName());
+    }
+
     public String getTimeStamp() {
-        return new SimpleDateFormat("MM-dd HH:mm:ss").format(System.currentTimeMillis());
+        return TimeStampFormat.line().now();
     }
 
     private String getFileName() {
-        String day = new SimpleDateFormat("yyyy_MM_dd").format(System.currentTimeMillis());
-        return fileNamePrefix + "-" + day + ".txt";
+        String day = TimeStampFormat.day().now();
+        Map.Entry<String, String> cached = dayFileName;
+        if (cached == null || !cached.getKey().equals(day)) {
+            cached = new AbstractMap.SimpleImmutableEntry<>(day, fileNamePrefix + "-" + day + ".txt");
+            dayFileName = cached;
+        }
+        return cached.getValue();
     }
 
     /**
@@ -97,7 +302,12 @@ public class FolderTimeStampFileLogger {
      * @return Optional of file or empty optional if the file does not exist.
      */
     public Optional<File> getCurrentFile() {
-        File file = new File(logFolder.get(), getFileName());
+        File file;
+        synchronized (this) {
+            file = rotation != null && rotationDay != null
+                    ? getRotatedFile(logFolder.get(), rotationDay, rotationIndex)
+                    : getFile();
+        }
         if (file.exists()) {
             return Optional.of(file);
         }
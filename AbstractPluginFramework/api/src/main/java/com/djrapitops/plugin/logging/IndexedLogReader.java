@@ -0,0 +1,383 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Reader for large log files that pages through records without reading the whole file.
+ * <p>
+ * The first read goes through the file once and stores the byte offset and a type key of every line into a sidecar
+ * file next to it (name.txt.idx). Later reads load the sidecar and seek straight to the requested lines.
+ * Lines appended to the log after indexing are indexed on {@link #refresh()}.
+ * Compressed files are not supported.
+ *
+ * @author AuroraLS3
+ */
+public class IndexedLogReader {
+
+    private static final String MAGIC = "APF-IDX-1";
+    private static final byte KEY_DEFINITION = 0;
+    private static final byte ENTRY = 1;
+
+    private final File file;
+    private final File indexFile;
+    private final String kind;
+    private final Function<String, String> keyExtractor;
+
+    private boolean loaded;
+    private long indexedLength;
+    private long[] offsets;
+    private int[] keyIds;
+    private int count;
+    private final List<String> keys;
+    private final Map<String, Integer> keyIdsByKey;
+
+    /**
+     * Create a new IndexedLogReader.
+     *
+     * @param file         Log file to read.
+     * @param kind         Name of the key type, the sidecar is rebuilt if it was built for another kind.
+     * @param keyExtractor Function that gives the type key of a line, for example the error fingerprint.
+     */
+    public IndexedLogReader(File file, String kind, Function<String, String> keyExtractor) {
+        this.file = file;
+        this.indexFile = new File(file.getParentFile(), file.getName() + ".idx");
+        this.kind = kind;
+        this.keyExtractor = keyExtractor;
+        keys = new ArrayList<>();
+        keyIdsByKey = new HashMap<>();
+        clear();
+    }
+
+    /**
+     * Create a reader for files of {@link com.djrapitops.plugin.logging.error.FolderTimeStampErrorFileLogger}
+     * that uses the error fingerprint as the type key.
+     *
+     * @param file Error log file.
+     * @return new IndexedLogReader.
+     */
+    public static IndexedLogReader forErrors(File file) {
+        return new IndexedLogReader(file, "fingerprint", line -> valueBetween(line, "\"fingerprint\":\"", "\""));
+    }
+
+    /**
+     * Create a reader for files of {@link com.djrapitops.plugin.logging.debug.FolderTimeStampFileDebugLogger}
+     * that uses the debug channel as the type key.
+     *
+     * @param file Debug log file.
+     * @return new IndexedLogReader.
+     */
+    public static IndexedLogReader forDebug(File file) {
+        return new IndexedLogReader(file, "channel", line -> valueBetween(line, " | [", "] "));
+    }
+
+    private static String valueBetween(String line, String start, String end) {
+        int startIndex = line.indexOf(start);
+        if (startIndex == -1) {
+            return "";
+        }
+        int valueStart = startIndex + start.length();
+        int endIndex = line.indexOf(end, valueStart);
+        return endIndex == -1 ? "" : line.substring(valueStart, endIndex);
+    }
+
+    private void clear() {
+        indexedLength = 0L;
+        offsets = new long[1024];
+        keyIds = new int[1024];
+        count = 0;
+        keys.clear();
+        keyIdsByKey.clear();
+    }
+
+    /**
+     * Load the sidecar index and index lines appended since it was written.
+     *
+     * @throws IOException If reading the log file or writing the sidecar fails.
+     */
+    public synchronized void refresh() throws IOException {
+        if (!loaded) {
+            loadIndex();
+            loaded = true;
+        }
+        long length = file.length();
+        if (length < indexedLength) {
+            // File was replaced or truncated
+            clear();
+            rewriteIndex();
+        }
+        if (length > indexedLength) {
+            indexFrom(indexedLength);
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        if (!indexFile.exists()) {
+            rewriteIndex();
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (!MAGIC.equals(in.readUTF()) || !kind.equals(in.readUTF())) {
+                throw new EOFException();
+            }
+            long lengthInHeader = in.readLong();
+            int type;
+            while ((type = in.read()) != -1) {
+                if (type == KEY_DEFINITION) {
+                    String key = in.readUTF();
+                    keyIdsByKey.put(key, keys.size());
+                    keys.add(key);
+                } else if (type == ENTRY) {
+                    long offset = in.readLong();
+                    int keyId = in.readInt();
+                    if (offset >= lengthInHeader || keyId >= keys.size()) {
+                        // Writing the index was interrupted before the header was updated
+                        throw new EOFException();
+                    }
+                    addEntry(offset, keyId);
+                } else {
+                    throw new EOFException();
+                }
+            }
+            indexedLength = lengthInHeader;
+        } catch (EOFException | UTFDataFormatException corrupted) {
+            clear();
+            rewriteIndex();
+        }
+    }
+
+    private void rewriteIndex() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(indexFile))) {
+            out.writeUTF(MAGIC);
+            out.writeUTF(kind);
+            out.writeLong(0L);
+        }
+    }
+
+    private void indexFrom(long start) throws IOException {
+        ByteArrayOutputStream appended = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(appended);
+        long completeLength = start;
+
+        try (InputStream in = new FileInputStream(file)) {
+            skipFully(in, start);
+            byte[] buffer = new byte[65536];
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            long bufferStart = start;
+            long lineStart = start;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                int segmentStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] != '\n') {
+                        continue;
+                    }
+                    line.write(buffer, segmentStart, i - segmentStart);
+                    int keyId = keyIdOf(decode(line), indexOut);
+                    addEntry(lineStart, keyId);
+                    indexOut.writeByte(ENTRY);
+                    indexOut.writeLong(lineStart);
+                    indexOut.writeInt(keyId);
+                    line.reset();
+                    segmentStart = i + 1;
+                    lineStart = bufferStart + segmentStart;
+                    completeLength = lineStart;
+                }
+                line.write(buffer, segmentStart, read - segmentStart);
+                bufferStart += read;
+            }
+            // A line without line separator is still being written, it is indexed on next refresh.
+        }
+
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw")) {
+            index.seek(index.length());
+            index.write(appended.toByteArray());
+            index.seek(headerLengthPosition());
+            index.writeLong(completeLength);
+        }
+        indexedLength = completeLength;
+    }
+
+    private long headerLengthPosition() {
+        // writeUTF writes a 2 byte length followed by the bytes, both strings are ASCII
+        return 2L + MAGIC.length() + 2L + kind.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("Log file is shorter than its index");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private int keyIdOf(String line, DataOutputStream indexOut) throws IOException {
+        String key = keyExtractor.apply(line);
+        Integer existing = keyIdsByKey.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int id = keys.size();
+        keys.add(key);
+        keyIdsByKey.put(key, id);
+        indexOut.writeByte(KEY_DEFINITION);
+        indexOut.writeUTF(key);
+        return id;
+    }
+
+    private void addEntry(long offset, int keyId) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            keyIds = Arrays.copyOf(keyIds, count * 2);
+        }
+        offsets[count] = offset;
+        keyIds[count] = keyId;
+        count++;
+    }
+
+    private static String decode(ByteArrayOutputStream line) {
+        String decoded = new String(line.toByteArray(), StandardCharsets.UTF_8);
+        return decoded.endsWith("\r") ? decoded.substring(0, decoded.length() - 1) : decoded;
+    }
+
+    /**
+     * Get how many lines have been indexed.
+     *
+     * @return Count of lines, call {@link #refresh()} first to include new lines.
+     */
+    public synchronized int getLineCount() {
+        return count;
+    }
+
+    /**
+     * Get how many lines there are of each type key.
+     *
+     * @return Map: type key - count of lines.
+     */
+    public synchronized Map<String, Integer> getKeyCounts() {
+        int[] counts = new int[keys.size()];
+        for (int i = 0; i < count; i++) {
+            counts[keyIds[i]]++;
+        }
+        Map<String, Integer> keyCounts = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            keyCounts.put(keys.get(i), counts[i]);
+        }
+        return keyCounts;
+    }
+
+    /**
+     * Read a page of lines.
+     *
+     * @param from   Index of the first line to read, at least 0.
+     * @param amount Maximum number of lines to read.
+     * @return Lines in file order.
+     * @throws IOException              If reading the file fails.
+     * @throws IllegalArgumentException If from is negative.
+     */
+    public synchronized List<String> read(int from, int amount) throws IOException {
+        if (from < 0) {
+            throw new IllegalArgumentException("Index of the first line can not be negative, was " + from);
+        }
+        int[] lineIndices = new int[Math.max(0, Math.min(amount, count - from))];
+        for (int i = 0; i < lineIndices.length; i++) {
+            lineIndices[i] = from + i;
+        }
+        return readLines(lineIndices);
+    }
+
+    /**
+     * Read the last lines of the file.
+     *
+     * @param amount Maximum number of lines to read.
+     * @return Lines in file order.
+     * @throws IOException If reading the file fails.
+     */
+    public synchronized List<String> tail(int amount) throws IOException {
+        return read(Math.max(0, count - amount), amount);
+    }
+
+    /**
+     * Read a page of lines that have the given type key.
+     *
+     * @param key    Type key, for example an error fingerprint.
+     * @param from   How many matching lines to skip, at least 0.
+     * @param amount Maximum number of lines to read.
+     * @return Matching lines in file order.
+     * @throws IOException              If reading the file fails.
+     * @throws IllegalArgumentException If from is negative.
+     */
+    public synchronized List<String> readByKey(String key, int from, int amount) throws IOException {
+        if (from < 0) {
+            throw new IllegalArgumentException("Amount of lines to skip can not be negative, was " + from);
+        }
+        Integer keyId = keyIdsByKey.get(key);
+        if (keyId == null || amount <= 0) {
+            return Collections.emptyList();
+        }
+        int[] matching = new int[amount];
+        int found = 0;
+        int skipped = 0;
+        for (int i = 0; i < count && found < amount; i++) {
+            if (keyIds[i] != keyId) {
+                continue;
+            }
+            if (skipped < from) {
+                skipped++;
+            } else {
+                matching[found++] = i;
+            }
+        }
+        return readLines(Arrays.copyOf(matching, found));
+    }
+
+    private List<String> readLines(int[] lineIndices) throws IOException {
+        if (lineIndices.length == 0) {
+            return Collections.emptyList();
+        }
+        List<String> lines = new ArrayList<>(lineIndices.length);
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            for (int lineIndex : lineIndices) {
+                long start = offsets[lineIndex];
+                long end = lineIndex + 1 < count ? offsets[lineIndex + 1] : indexedLength;
+                byte[] bytes = new byte[(int) (end - start)];
+                in.seek(start);
+                in.readFully(bytes);
+                int length = bytes.length;
+                while (length > 0 && (bytes[length - 1] == '\n' || bytes[length - 1] == '\r')) {
+                    length--;
+                }
+                lines.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+            }
+        }
+        return lines;
+    }
+}
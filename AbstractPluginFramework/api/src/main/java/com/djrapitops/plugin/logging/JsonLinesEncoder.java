@@ -0,0 +1,255 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reusable buffer that encodes JSON objects straight into UTF-8 bytes.
+ * <p>
+ * Used by {@link JsonLinesLogger} with one instance per thread, so encoding a record does not allocate.
+ *
+ * @author AuroraLS3
+ */
+class JsonLinesEncoder {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] bytes;
+    private int size;
+    private boolean firstField;
+
+    JsonLinesEncoder(int initialCapacity) {
+        bytes = new byte[initialCapacity];
+    }
+
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    JsonLinesEncoder beginLine() {
+        size = 0;
+        return beginObject();
+    }
+
+    JsonLinesEncoder endLine() {
+        endObject();
+        put('\n');
+        return this;
+    }
+
+    JsonLinesEncoder beginObject() {
+        put('{');
+        firstField = true;
+        return this;
+    }
+
+    JsonLinesEncoder endObject() {
+        put('}');
+        firstField = false;
+        return this;
+    }
+
+    JsonLinesEncoder beginObjectField(String name) {
+        name(name);
+        return beginObject();
+    }
+
+    JsonLinesEncoder beginArrayField(String name) {
+        name(name);
+        put('[');
+        firstField = true;
+        return this;
+    }
+
+    JsonLinesEncoder endArray() {
+        put(']');
+        firstField = false;
+        return this;
+    }
+
+    JsonLinesEncoder field(String name, CharSequence value) {
+        name(name);
+        return value(value);
+    }
+
+    JsonLinesEncoder field(String name, long value) {
+        name(name);
+        number(value);
+        return this;
+    }
+
+    /**
+     * Add a stack trace element as an array value without creating its String representation.
+     *
+     * @param element Element to add.
+     * @return this encoder.
+     */
+    JsonLinesEncoder frame(StackTraceElement element) {
+        separator();
+        put('"');
+        chars(element.getClassName());
+        put('.');
+        chars(element.getMethodName());
+        put('(');
+        String fileName = element.getFileName();
+        if (element.isNativeMethod()) {
+            chars("Native Method");
+        } else if (fileName == null) {
+            chars("Unknown Source");
+        } else {
+            chars(fileName);
+            if (element.getLineNumber() >= 0) {
+                put(':');
+                number(element.getLineNumber());
+            }
+        }
+        put(')');
+        put('"');
+        return this;
+    }
+
+    JsonLinesEncoder value(CharSequence value) {
+        separator();
+        if (value == null) {
+            ensure(4);
+            put('n');
+            put('u');
+            put('l');
+            put('l');
+            return this;
+        }
+        put('"');
+        chars(value);
+        put('"');
+        return this;
+    }
+
+    private void name(String name) {
+        separator();
+        put('"');
+        chars(name);
+        put('"');
+        put(':');
+        firstField = true;
+    }
+
+    private void separator() {
+        if (!firstField) {
+            put(',');
+        }
+        firstField = false;
+    }
+
+    private void chars(CharSequence text) {
+        int length = text.length();
+        ensure(length * 6);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                bytes[size++] = '\\';
+                bytes[size++] = (byte) c;
+            } else if (c < 0x20) {
+                escapeControl(c);
+            } else if (c < 0x80) {
+                bytes[size++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[size++] = (byte) (0xC0 | c >> 6);
+                bytes[size++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                bytes[size++] = (byte) (0xF0 | codePoint >> 18);
+                bytes[size++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                bytes[size++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                bytes[size++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                bytes[size++] = '?';
+            } else {
+                bytes[size++] = (byte) (0xE0 | c >> 12);
+                bytes[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[size++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+    }
+
+    private void escapeControl(char c) {
+        bytes[size++] = '\\';
+        switch (c) {
+            case '\n':
+                bytes[size++] = 'n';
+                break;
+            case '\r':
+                bytes[size++] = 'r';
+                break;
+            case '\t':
+                bytes[size++] = 't';
+                break;
+            default:
+                bytes[size++] = 'u';
+                bytes[size++] = '0';
+                bytes[size++] = '0';
+                bytes[size++] = HEX[c >> 4];
+                bytes[size++] = HEX[c & 0xF];
+        }
+    }
+
+    private void number(long value) {
+        ensure(20);
+        if (value == Long.MIN_VALUE) {
+            chars("-9223372036854775808");
+            return;
+        }
+        if (value < 0) {
+            bytes[size++] = '-';
+            value = -value;
+        }
+        int start = size;
+        do {
+            bytes[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        // Digits were written in reverse
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte swap = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = swap;
+        }
+    }
+
+    private void put(char c) {
+        ensure(1);
+        bytes[size++] = (byte) c;
+    }
+
+    private void ensure(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import com.djrapitops.plugin.logging.debug.DebugLogger;
+import com.djrapitops.plugin.logging.error.ErrorFingerprint;
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * {@link DebugLogger} and {@link ErrorHandler} implementation that writes one JSON object per line for log pipelines.
+ * <p>
+ * Each record has the fields time (epoch ms), level, channel, thread and message, and errors also have caughtBy and a
+ * throwable object with type, message, fingerprint, frames and cause.
+ * Records are encoded straight into a reusable per-thread byte buffer and copied into a staging buffer that a
+ * writer thread swaps with a second buffer and writes to the file, so logging a record does not allocate.
+ * Records that do not fit into the staging buffer are dropped and counted.
+ * A write failure is reported to the {@link ErrorHandler} once until a write succeeds again, and errors caught by
+ * this logger are not written as records, so that a failing file does not keep producing errors about itself.
+ *
+ * @author AuroraLS3
+ */
+public class JsonLinesLogger implements DebugLogger, ErrorHandler, AutoCloseable {
+
+    private static final ThreadLocal<JsonLinesEncoder> ENCODER = ThreadLocal.withInitial(() -> new JsonLinesEncoder(1024));
+    private static final int MAX_CAUSES = 8;
+
+    private final Supplier<File> file;
+    private final Supplier<ErrorHandler> errorHandler;
+    private final long flushIntervalMs;
+
+    private final Object lock;
+    private byte[] staging;
+    private byte[] writing;
+    private int stagedBytes;
+    private boolean closed;
+
+    private final AtomicLong droppedRecords;
+    private final Thread writerThread;
+
+    private File currentFile;
+    private OutputStream out;
+    private boolean failing;
+
+    /**
+     * Create a new JsonLinesLogger with a 1 MB staging buffer that is written at least once a second.
+     *
+     * @param file         Supplier for the file to append to, for example a file per day.
+     * @param errorHandler Supplier for the {@link ErrorHandler} in case writing fails.
+     */
+    public JsonLinesLogger(Supplier<File> file, Supplier<ErrorHandler> errorHandler) {
+        this(file, errorHandler, 1024 * 1024, 1000L);
+    }
+
+    /**
+     * Create a new JsonLinesLogger.
+     *
+     * @param file            Supplier for the file to append to, called on the writer thread.
+     * @param errorHandler    Supplier for the {@link ErrorHandler} in case writing fails.
+     * @param bufferBytes     Size of the staging buffer, records over this size are dropped.
+     * @param flushIntervalMs How long records can wait in the staging buffer.
+     */
+    public JsonLinesLogger(Supplier<File> file, Supplier<ErrorHandler> errorHandler, int bufferBytes, long flushIntervalMs) {
+        this.file = file;
+        this.errorHandler = errorHandler;
+        this.flushIntervalMs = flushIntervalMs;
+        lock = new Object();
+        staging = new byte[bufferBytes];
+        writing = new byte[bufferBytes];
+        droppedRecords = new AtomicLong();
+
+        writerThread = new Thread(this::runWriter, "APF JSON Lines Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void logOn(String channel, String... lines) {
+        log(L.DEBUG, channel, lines);
+    }
+
+    /**
+     * Log lines on a level and channel.
+     *
+     * @param level   Level of the lines.
+     * @param channel Channel of the lines, for example a debug channel.
+     * @param lines   Lines to log, one record each.
+     */
+    public void log(L level, String channel, String... lines) {
+        write(level, channel, System.currentTimeMillis(), Thread.currentThread().getName(), lines);
+    }
+
+    @Override
+    public void log(LogEvent event) {
+        write(event.getLevel(), event.getChannel(), event.getTime(), event.getThread(), event.lines());
+    }
+
+    private void write(L level, String channel, long time, String thread, String[] lines) {
+        JsonLinesEncoder encoder = ENCODER.get();
+        for (String line : lines) {
+            encoder.beginLine()
+                    .field("time", time)
+                    .field("level", level.name())
+                    .field("channel", channel)
+                    .field("thread", thread)
+                    .field("message", line)
+                    .endLine();
+            publish(encoder);
+        }
+    }
+
+    @Override
+    public void log(L level, Class caughtBy, Throwable throwable) {
+        if (caughtBy == JsonLinesLogger.class) {
+            // Failure of this logger, that would be written with the same failing file.
+            return;
+        }
+        JsonLinesEncoder encoder = ENCODER.get();
+        encoder.beginLine()
+                .field("time", System.currentTimeMillis())
+                .field("level", level.name())
+                .field("channel", "Error")
+                .field("thread", Thread.currentThread().getName())
+                .field("caughtBy", caughtBy.getName())
+                .field("message", throwable.getMessage())
+                .beginObjectField("throwable")
+                .field("fingerprint", ErrorFingerprint.of(throwable));
+        encodeThrowable(encoder, throwable, 0);
+        encoder.endObject().endLine();
+        publish(encoder);
+    }
+
+    private void encodeThrowable(JsonLinesEncoder encoder, Throwable throwable, int depth) {
+        encoder.field("type", throwable.getClass().getName())
+                .field("message", throwable.getMessage())
+                .beginArrayField("frames");
+        for (StackTraceElement element : throwable.getStackTrace()) {
+            encoder.frame(element);
+        }
+        encoder.endArray();
+        Throwable cause = throwable.getCause();
+        if (cause != null && cause != throwable && depth < MAX_CAUSES) {
+            encoder.beginObjectField("cause");
+            encodeThrowable(encoder, cause, depth + 1);
+            encoder.endObject();
+        }
+    }
+
+    private void publish(JsonLinesEncoder encoder) {
+        int length = encoder.getSize();
+        synchronized (lock) {
+            if (closed || stagedBytes + length > staging.length) {
+                droppedRecords.incrementAndGet();
+                return;
+            }
+            System.arraycopy(encoder.getBytes(), 0, staging, stagedBytes, length);
+            stagedBytes += length;
+            if (stagedBytes > staging.length / 2) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Get how many records were dropped because the staging buffer was full.
+     *
+     * @return Count of dropped records since creation.
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+
+    /**
+     * Stop accepting records, write the staged records and close the file.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        try {
+            boolean last = false;
+            while (!last) {
+                int length;
+                synchronized (lock) {
+                    if (stagedBytes == 0 && !closed) {
+                        lock.wait(flushIntervalMs);
+                    }
+                    byte[] swap = writing;
+                    writing = staging;
+                    staging = swap;
+                    length = stagedBytes;
+                    stagedBytes = 0;
+                    last = closed;
+                }
+                if (length > 0) {
+                    write(length);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeOutput();
+        }
+    }
+
+    private void write(int length) {
+        try {
+            File target = file.get();
+            if (out == null || !target.equals(currentFile)) {
+                closeOutput();
+                out = new FileOutputStream(target, true);
+                currentFile = target;
+            }
+            out.write(writing, 0, length);
+            failing = false;
+        } catch (IOException e) {
+            closeOutput();
+            reportFailure(L.CRITICAL, e);
+        }
+    }
+
+    private void reportFailure(L level, IOException failure) {
+        // This logger can be one of the error handlers, so an error about every failed write would fail again.
+        if (!failing) {
+            failing = true;
+            errorHandler.get().log(level, this.getClass(), failure);
+        }
+    }
+
+    private void closeOutput() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            reportFailure(L.WARN, e);
+        } finally {
+            out = null;
+            currentFile = null;
+        }
+    }
+}
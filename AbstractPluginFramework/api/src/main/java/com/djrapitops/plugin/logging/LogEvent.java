@@ -0,0 +1,220 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable log message that is created once per logging call and passed through every sink.
+ * <p>
+ * Captures the time and thread of the logging call, so sinks see when and where the message was logged
+ * instead of when it was processed, and do not need to look up the time themselves.
+ *
+ * @author AuroraLS3
+ */
+public final class LogEvent {
+
+    private final L level;
+    private final String channel;
+    private final String[] lines;
+    private final long time;
+    private final String thread;
+    private final Class caughtBy;
+    private final Throwable throwable;
+    private final String template;
+    private final String[] arguments;
+
+    private LogEvent(L level, String channel, String[] lines, Class caughtBy, Throwable throwable) {
+        this(level, channel, lines, caughtBy, throwable, null, null);
+    }
+
+    private LogEvent(L level, String channel, String[] lines, Class caughtBy, Throwable throwable, String template, String[] arguments) {
+        this.level = level;
+        this.channel = channel;
+        this.lines = lines;
+        this.caughtBy = caughtBy;
+        this.throwable = throwable;
+        this.template = template;
+        this.arguments = arguments;
+        time = System.currentTimeMillis();
+        thread = Thread.currentThread().getName();
+    }
+
+    /**
+     * Create an event of lines logged on a channel.
+     *
+     * @param level   Level of the lines.
+     * @param channel Channel of the lines, "" for the default channel.
+     * @param lines   Lines that were logged, the array is copied.
+     * @return new LogEvent.
+     */
+    public static LogEvent of(L level, String channel, String... lines) {
+        return new LogEvent(level, channel, lines.clone(), null, null);
+    }
+
+    /**
+     * Create an event of a message with {} placeholders, keeping the pattern and the arguments.
+     * <p>
+     * Sinks that store many similar messages can store the pattern once instead of each formatted message.
+     *
+     * @param level     Level of the message.
+     * @param channel   Channel of the message, "" for the default channel.
+     * @param pattern   Message with {} placeholders.
+     * @param arguments Values for the placeholders.
+     * @return new LogEvent with the formatted message as the only line.
+     * @see MessageFormatter#format(String, Object...)
+     */
+    public static LogEvent ofFormatted(L level, String channel, String pattern, Object... arguments) {
+        String[] strings = MessageFormatter.toStrings(arguments);
+        String line = MessageFormatter.format(pattern, (Object[]) strings);
+        return new LogEvent(level, channel, new String[]{line}, null, null, pattern, strings);
+    }
+
+    /**
+     * Create an event of a caught error.
+     *
+     * @param level     Level of severity.
+     * @param caughtBy  Class the throwable was caught by.
+     * @param throwable Throwable that was caught.
+     * @return new LogEvent.
+     */
+    public static LogEvent ofError(L level, Class caughtBy, Throwable throwable) {
+        return new LogEvent(level, "", new String[0], caughtBy, throwable);
+    }
+
+    public L getLevel() {
+        return level;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Get the logged lines.
+     *
+     * @return Unmodifiable list of the lines, empty for errors.
+     */
+    public List<String> getLines() {
+        return Collections.unmodifiableList(Arrays.asList(lines));
+    }
+
+    /**
+     * Get amount of logged lines.
+     *
+     * @return Line count, 0 for errors.
+     */
+    public int getLineCount() {
+        return lines.length;
+    }
+
+    /**
+     * Get a logged line without copying the lines.
+     *
+     * @param index Index of the line.
+     * @return The line.
+     * @throws ArrayIndexOutOfBoundsException If index is not less than {@link #getLineCount()}.
+     */
+    public String getLine(int index) {
+        return lines[index];
+    }
+
+    String[] lines() {
+        return lines;
+    }
+
+    /**
+     * Get a copy of the logged lines, for passing on to the String... methods.
+     *
+     * @return Copy of the lines.
+     */
+    public String[] getLinesArray() {
+        return lines.clone();
+    }
+
+    /**
+     * Get the pattern of a message created with {@link #ofFormatted(L, String, String, Object...)}.
+     *
+     * @return Message with {} placeholders, or null if the event has no pattern.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Get the arguments of a message created with {@link #ofFormatted(L, String, String, Object...)}.
+     *
+     * @return Copy of the arguments as strings, or null if the event has no pattern.
+     */
+    public String[] getArguments() {
+        return arguments != null ? arguments.clone() : null;
+    }
+
+    /**
+     * Get the epoch millisecond the event was created.
+     *
+     * @return Time of the logging call.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Get name of the thread that created the event.
+     *
+     * @return Thread name of the logging call.
+     */
+    public String getThread() {
+        return thread;
+    }
+
+    /**
+     * Get the class that caught the error.
+     *
+     * @return Class, or null if this event is not an error.
+     */
+    public Class getCaughtBy() {
+        return caughtBy;
+    }
+
+    /**
+     * Get the caught error.
+     *
+     * @return Throwable, or null if this event is not an error.
+     */
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+    /**
+     * Check if this event is a caught error.
+     *
+     * @return true if created with {@link #ofError(L, Class, Throwable)}.
+     */
+    public boolean isError() {
+        return throwable != null;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size based rotation, compression and retention policy for {@link FolderTimeStampFileLogger}.
+ * <p>
+ * Logging starts in fileNamePrefix-yyyy_MM_dd.txt. When the file of the day grows past the size limit, logging
+ * continues in a new numbered file, fileNamePrefix-yyyy_MM_dd.N.txt with N starting from 1, and the previous file is
+ * compressed with gzip. The last file of a day is compressed when the day changes.
+ * Compression and removal of old files is done on a single low priority background thread.
+ * Old files are only looked for when a file is rotated or the day changes.
+ *
+ * @author AuroraLS3
+ */
+public class LogRotation {
+
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "APF Log Compressor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final long maxFileBytes;
+    private final long maxAgeMs;
+    private final long maxTotalBytes;
+
+    /**
+     * Create a new LogRotation.
+     *
+     * @param maxFileBytes  Size in bytes a file can grow to before logging continues in a new file, 0 for no limit.
+     * @param maxAgeDays    Days after last modification the log files are removed, 0 to keep them regardless of age.
+     * @param maxTotalBytes Size in bytes all log files of the logger can take before oldest are removed, 0 for no limit.
+     * @throws IllegalArgumentException If any of the values is negative.
+     */
+    public LogRotation(long maxFileBytes, int maxAgeDays, long maxTotalBytes) {
+        if (maxFileBytes < 0 || maxAgeDays < 0 || maxTotalBytes < 0) {
+            throw new IllegalArgumentException("Rotation limits can not be negative");
+        }
+        this.maxFileBytes = maxFileBytes;
+        this.maxAgeMs = TimeUnit.DAYS.toMillis(maxAgeDays);
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    /**
+     * Check if a file of the given size should be rotated before writing more to it.
+     *
+     * @param currentBytes Current size of the file.
+     * @param addedBytes   Size about to be written.
+     * @return true if the size limit would be exceeded by a file that is not empty.
+     */
+    boolean shouldRotate(long currentBytes, long addedBytes) {
+        return maxFileBytes > 0 && currentBytes > 0 && currentBytes + addedBytes > maxFileBytes;
+    }
+
+    /**
+     * Compress a rotated file on the background thread, replacing it with a .gz file.
+     *
+     * @param file         File that is no longer written to.
+     * @param errorHandler Supplier for the {@link ErrorHandler} in case compression fails.
+     */
+    void compress(File file, Supplier<ErrorHandler> errorHandler) {
+        BACKGROUND.execute(() -> {
+            try {
+                gzip(file);
+            } catch (IOException e) {
+                errorHandler.get().log(L.WARN, LogRotation.class, e);
+            }
+        });
+    }
+
+    /**
+     * Remove old log files on the background thread.
+     *
+     * @param folder         Folder the log files are in.
+     * @param fileNamePrefix Prefix of the log files.
+     * @param activeFile     File that is currently written to, never removed.
+     */
+    void cleanUp(File folder, String fileNamePrefix, File activeFile) {
+        if (maxAgeMs <= 0 && maxTotalBytes <= 0) {
+            return;
+        }
+        BACKGROUND.execute(() -> removeOldFiles(folder, fileNamePrefix, activeFile));
+    }
+
+    /**
+     * Run all previously submitted compression and clean up tasks before returning.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     * @throws ExecutionException   If the background thread fails.
+     */
+    static void awaitBackgroundTasks() throws InterruptedException, ExecutionException {
+        BACKGROUND.submit(() -> {
+        }).get();
+    }
+
+    static void gzip(File file) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        File compressed = new File(file.getParentFile(), file.getName() + ".gz");
+        try (InputStream in = new FileInputStream(file);
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(compressed))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        Files.delete(file.toPath());
+    }
+
+    static List<File> getLogFiles(File folder, String fileNamePrefix) {
+        File[] files = folder.listFiles((dir, name) -> name.startsWith(fileNamePrefix + "-")
+                && (name.endsWith(".txt") || name.endsWith(".txt.gz")));
+        return files != null ? new ArrayList<>(Arrays.asList(files)) : new ArrayList<>();
+    }
+
+    private void removeOldFiles(File folder, String fileNamePrefix, File activeFile) {
+        List<File> files = getLogFiles(folder, fileNamePrefix);
+        files.sort(Comparator.comparingLong(File::lastModified));
+
+        long now = System.currentTimeMillis();
+        long totalBytes = 0L;
+        for (File file : files) {
+            totalBytes += file.length();
+        }
+        for (File file : files) {
+            if (file.equals(activeFile)) {
+                continue;
+            }
+            boolean tooOld = maxAgeMs > 0 && now - file.lastModified() > maxAgeMs;
+            boolean tooLarge = maxTotalBytes > 0 && totalBytes > maxTotalBytes;
+            if (!tooOld && !tooLarge) {
+                continue;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                totalBytes -= length;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import java.util.Arrays;
+
+/**
+ * Static utility for formatting log messages with {} placeholders.
+ * <p>
+ * Used by the parameterized logging methods so that the message is only built when it is going to be logged.
+ *
+ * @author AuroraLS3
+ */
+public class MessageFormatter {
+
+    private static final String PLACEHOLDER = "{}";
+
+    private MessageFormatter() {
+        /* Static method class */
+    }
+
+    /**
+     * Replace each {} in the pattern with the next argument.
+     * <p>
+     * Placeholders without an argument are left as is and extra arguments are ignored.
+     *
+     * @param pattern   Message with {} placeholders, for example "Loaded {} players in {} ms".
+     * @param arguments Values for the placeholders, arrays are formatted with their contents.
+     * @return Formatted message.
+     */
+    public static String format(String pattern, Object... arguments) {
+        if (pattern == null || arguments == null || arguments.length == 0) {
+            return pattern;
+        }
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * arguments.length);
+        int argument = 0;
+        int from = 0;
+        int placeholder;
+        while (argument < arguments.length && (placeholder = pattern.indexOf(PLACEHOLDER, from)) != -1) {
+            builder.append(pattern, from, placeholder);
+            appendArgument(builder, arguments[argument++]);
+            from = placeholder + PLACEHOLDER.length();
+        }
+        builder.append(pattern, from, pattern.length());
+        return builder.toString();
+    }
+
+    /**
+     * Turn arguments into the strings that {@link #format(String, Object...)} would place in the message.
+     * <p>
+     * Formatting the pattern with the returned strings gives the same message, so the arguments can be stored
+     * instead of the formatted message.
+     *
+     * @param arguments Values for the placeholders.
+     * @return String of each argument.
+     */
+    public static String[] toStrings(Object... arguments) {
+        String[] strings = new String[arguments.length];
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < arguments.length; i++) {
+            builder.setLength(0);
+            appendArgument(builder, arguments[i]);
+            strings[i] = builder.toString();
+        }
+        return strings;
+    }
+
+    private static void appendArgument(StringBuilder builder, Object argument) {
+        if (argument != null && argument.getClass().isArray()) {
+            // Wrapped so that primitive arrays are formatted too, the outer brackets are left out.
+            String wrapped = Arrays.deepToString(new Object[]{argument});
+            builder.append(wrapped, 1, wrapped.length() - 1);
+        } else {
+            builder.append(argument);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Thread-safe timestamp formatter that reuses the formatted text while the time stays in the same unit.
+ * <p>
+ * Formatting a timestamp on every logged line only needs a new string once a second,
+ * and log file names only once a day.
+ *
+ * @author AuroraLS3
+ */
+public class TimeStampFormat {
+
+    private static final TimeStampFormat LINE = new TimeStampFormat("MM-dd HH:mm:ss", ChronoUnit.SECONDS);
+    private static final TimeStampFormat DAY = new TimeStampFormat("yyyy_MM_dd", ChronoUnit.DAYS);
+
+    private final DateTimeFormatter formatter;
+    private final ChronoUnit unit;
+    private final ZoneId zone;
+
+    private volatile Cached cached;
+
+    /**
+     * Create a new TimeStampFormat using the system default time zone.
+     *
+     * @param pattern Pattern for {@link DateTimeFormatter#ofPattern(String)}, should not show anything finer than unit.
+     * @param unit    Unit the formatted text is reused for, for example {@link ChronoUnit#SECONDS}.
+     */
+    public TimeStampFormat(String pattern, ChronoUnit unit) {
+        this.formatter = DateTimeFormatter.ofPattern(pattern);
+        this.unit = unit;
+        this.zone = ZoneId.systemDefault();
+        this.cached = new Cached(0L, 0L, null);
+    }
+
+    /**
+     * Get the shared format for timestamps of logged lines.
+     *
+     * @return Format of MM-dd HH:mm:ss, cached per second.
+     */
+    public static TimeStampFormat line() {
+        return LINE;
+    }
+
+    /**
+     * Get the shared format for the day in log file names.
+     *
+     * @return Format of yyyy_MM_dd, cached per day.
+     */
+    public static TimeStampFormat day() {
+        return DAY;
+    }
+
+    /**
+     * Format the current time.
+     *
+     * @return Formatted text.
+     */
+    public String now() {
+        return format(System.currentTimeMillis());
+    }
+
+    /**
+     * Format an epoch millisecond.
+     *
+     * @param epochMs Epoch millisecond to format.
+     * @return Formatted text, the same instance for any time within the same unit as the previous call.
+     */
+    public String format(long epochMs) {
+        Cached current = cached;
+        if (epochMs >= current.from && epochMs < current.until) {
+            return current.text;
+        }
+        ZonedDateTime time = Instant.ofEpochMilli(epochMs).atZone(zone);
+        ZonedDateTime start = time.truncatedTo(unit);
+        current = new Cached(
+                start.toInstant().toEpochMilli(),
+                start.plus(1, unit).toInstant().toEpochMilli(),
+                formatter.format(time)
+        );
+        cached = current;
+        return current.text;
+    }
+
+    private static class Cached {
+        private final long from;
+        private final long until;
+        private final String text;
+
+        private Cached(long from, long until, String text) {
+            this.from = from;
+            this.until = until;
+            this.text = text;
+        }
+    }
+}
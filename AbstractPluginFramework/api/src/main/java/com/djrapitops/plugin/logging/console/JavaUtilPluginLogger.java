@@ -24,6 +24,7 @@
 package com.djrapitops.plugin.logging.console;
 
 import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.LogEvent;
 import com.djrapitops.plugin.logging.debug.DebugLogger;
 
 import java.util.function.Consumer;
@@ -72,7 +73,7 @@ public class JavaUtilPluginLogger implements PluginLogger {
             debugLogger.get().log(message);
             return;
         } else if (level != L.DEBUG_INFO) {
-            log(L.DEBUG, message);
+            debugLogger.get().log(LogEvent.of(level, "", message));
         }
         switch (level) {
             case CRITICAL:
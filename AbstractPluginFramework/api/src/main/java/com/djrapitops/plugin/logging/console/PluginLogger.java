@@ -26,6 +26,8 @@ package com.djrapitops.plugin.logging.console;
 import com.djrapitops.plugin.logging.L;
 import com.djrapitops.plugin.logging.debug.DebugLogger;
 
+import java.util.function.Supplier;
+
 /**
  * Interface for logging messages to console on the plugin's channel.
  *
@@ -69,6 +71,35 @@ public interface PluginLogger {
         log(L.DEBUG, message);
     }
 
+    /**
+     * Log a message on default debug channel, building it only if the channel is enabled.
+     *
+     * @param message Supplier for the message to log.
+     * @see DebugLogger#isEnabled(String)
+     */
+    default void debug(Supplier<String> message) {
+        getDebugLogger().log(message);
+    }
+
+    /**
+     * Log a message with {} placeholders on default debug channel, formatting it only if the channel is enabled.
+     *
+     * @param pattern   Message with {} placeholders.
+     * @param arguments Values for the placeholders.
+     */
+    default void debugFormatted(String pattern, Object... arguments) {
+        getDebugLogger().logOnFormatted("", pattern, arguments);
+    }
+
+    /**
+     * Check if messages on default debug channel are going to be logged.
+     *
+     * @return false if debug messages would be discarded.
+     */
+    default boolean isDebugEnabled() {
+        return getDebugLogger().isEnabled("");
+    }
+
     /**
      * Log a ERROR level message.
      *
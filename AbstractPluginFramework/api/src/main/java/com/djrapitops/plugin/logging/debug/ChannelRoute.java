@@ -0,0 +1,205 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.debug;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routing rule of a debug channel in {@link CombineDebugLogger}.
+ * <p>
+ * A route decides if the channel is logged at all, which of the debug loggers receive the messages and how many
+ * of the messages are kept. Routes are immutable apart from their sampling counters, methods starting with 'with'
+ * return a new route with fresh counters.
+ *
+ * @author AuroraLS3
+ */
+public class ChannelRoute {
+
+    private final boolean enabled;
+    private final Set<Class<? extends DebugLogger>> sinks;
+    private final int sampleEvery;
+    private final int maxPerSecond;
+
+    private final AtomicLong sampleCounter;
+    private final AtomicLong currentSecond;
+    private final AtomicInteger loggedThisSecond;
+    private final LongAdder suppressed;
+
+    private ChannelRoute(boolean enabled, Set<Class<? extends DebugLogger>> sinks, int sampleEvery, int maxPerSecond) {
+        this.enabled = enabled;
+        this.sinks = sinks;
+        this.sampleEvery = sampleEvery;
+        this.maxPerSecond = maxPerSecond;
+        sampleCounter = new AtomicLong();
+        currentSecond = new AtomicLong();
+        loggedThisSecond = new AtomicInteger();
+        suppressed = new LongAdder();
+    }
+
+    /**
+     * Create a route that sends every message to every debug logger.
+     *
+     * @return new ChannelRoute.
+     */
+    public static ChannelRoute all() {
+        return new ChannelRoute(true, Collections.emptySet(), 1, 0);
+    }
+
+    /**
+     * Create a route that discards every message.
+     *
+     * @return new ChannelRoute.
+     */
+    public static ChannelRoute disabled() {
+        return new ChannelRoute(false, Collections.emptySet(), 1, 0);
+    }
+
+    /**
+     * Get a copy of this route that is enabled or disabled.
+     *
+     * @param enabled false to discard every message.
+     * @return new ChannelRoute.
+     */
+    public ChannelRoute withEnabled(boolean enabled) {
+        return new ChannelRoute(enabled, sinks, sampleEvery, maxPerSecond);
+    }
+
+    /**
+     * Get a copy of this route that only sends messages to debug loggers of the given types.
+     *
+     * @param sinkTypes Types of the debug loggers, none to send to every debug logger.
+     * @return new ChannelRoute.
+     */
+    @SafeVarargs
+    public final ChannelRoute withSinks(Class<? extends DebugLogger>... sinkTypes) {
+        Set<Class<? extends DebugLogger>> types = new HashSet<>(Arrays.asList(sinkTypes));
+        return new ChannelRoute(enabled, Collections.unmodifiableSet(types), sampleEvery, maxPerSecond);
+    }
+
+    /**
+     * Get a copy of this route that keeps only every Nth message.
+     *
+     * @param sampleEvery N, 1 to keep every message.
+     * @return new ChannelRoute.
+     * @throws IllegalArgumentException If sampleEvery is less than 1.
+     */
+    public ChannelRoute withSampling(int sampleEvery) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("Sampling must be at least 1, was " + sampleEvery);
+        }
+        return new ChannelRoute(enabled, sinks, sampleEvery, maxPerSecond);
+    }
+
+    /**
+     * Get a copy of this route that keeps at most the given amount of messages each second.
+     *
+     * @param maxPerSecond Maximum messages per second, 0 for no limit.
+     * @return new ChannelRoute.
+     * @throws IllegalArgumentException If maxPerSecond is negative.
+     */
+    public ChannelRoute withRateLimit(int maxPerSecond) {
+        if (maxPerSecond < 0) {
+            throw new IllegalArgumentException("Rate limit can not be negative, was " + maxPerSecond);
+        }
+        return new ChannelRoute(enabled, sinks, sampleEvery, maxPerSecond);
+    }
+
+    /**
+     * Check if this route lets any messages through.
+     *
+     * @return false if every message is discarded.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Decide if the next message of the channel should be logged, counting it towards sampling and rate limit.
+     *
+     * @return false if the message should be discarded.
+     */
+    boolean shouldLog() {
+        if (!enabled) {
+            return false;
+        }
+        if (sampleEvery > 1 && sampleCounter.getAndIncrement() % sampleEvery != 0) {
+            suppressed.increment();
+            return false;
+        }
+        if (maxPerSecond > 0 && !withinRateLimit()) {
+            suppressed.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean withinRateLimit() {
+        long second = System.currentTimeMillis() / 1000L;
+        long previous = currentSecond.get();
+        if (previous != second && currentSecond.compareAndSet(previous, second)) {
+            loggedThisSecond.set(0);
+        }
+        return loggedThisSecond.incrementAndGet() <= maxPerSecond;
+    }
+
+    /**
+     * Check if the messages should be sent to the given debug logger.
+     *
+     * @param logger Debug logger to check.
+     * @return true if no sinks are chosen or the logger is one of the chosen types.
+     */
+    boolean sendsTo(DebugLogger logger) {
+        if (sinks.isEmpty()) {
+            return true;
+        }
+        for (Class<? extends DebugLogger> sink : sinks) {
+            if (sink.isInstance(logger)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get how many messages the sampling and rate limit of this route have discarded.
+     *
+     * @return Count of discarded messages, not including messages discarded because the route is disabled.
+     */
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelRoute{" +
+                "enabled=" + enabled +
+                ", sinks=" + sinks +
+                ", sampleEvery=" + sampleEvery +
+                ", maxPerSecond=" + maxPerSecond +
+                '}';
+    }
+}
@@ -23,16 +23,37 @@
  */
 package com.djrapitops.plugin.logging.debug;
 
+import com.djrapitops.plugin.logging.AsyncSink;
+import com.djrapitops.plugin.logging.BackpressurePolicy;
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.LogEvent;
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * {@link DebugLogger} implementation that accepts multiple {@link DebugLogger} instances and calls every one.
+ * <p>
+ * Each channel can be given a {@link ChannelRoute} that disables it, limits it to some of the loggers or samples
+ * its messages. Routes can be changed at any time, logging reads them without locking.
+ * <p>
+ * With {@link #startAsync(BackpressurePolicy, int)} each logger is called on its own thread through an
+ * {@link AsyncSink}, so a slow logger does not block the logging thread.
  *
  * @author AuroraLS3
  */
 public class CombineDebugLogger implements DebugLogger {
 
     private DebugLogger[] loggers;
+    private volatile Map<String, ChannelRoute> routes;
+    private volatile AsyncDispatch async;
+    private BackpressurePolicy asyncPolicy;
+    private int asyncCapacity;
+    private Supplier<ErrorHandler> asyncErrorHandler;
 
     /**
      * Create a new CombineDebugLogger.
@@ -41,22 +62,191 @@ public class CombineDebugLogger implements DebugLogger {
      */
     public CombineDebugLogger(DebugLogger... loggers) {
         this.loggers = loggers;
+        routes = Collections.emptyMap();
     }
 
     @Override
     public void logOn(String channel, String... lines) {
+        ChannelRoute route = routes.get(channel);
+        if (route != null && !route.shouldLog()) {
+            return;
+        }
+        send(route, LogEvent.of(L.DEBUG, channel, lines));
+    }
+
+    @Override
+    public void log(LogEvent event) {
+        ChannelRoute route = routes.get(event.getChannel());
+        if (route != null && !route.shouldLog()) {
+            return;
+        }
+        send(route, event);
+    }
+
+    @Override
+    public void logOn(String channel, Supplier<String> message) {
+        ChannelRoute route = routes.get(channel);
+        if (route != null && !route.shouldLog()) {
+            return;
+        }
+        send(route, LogEvent.of(L.DEBUG, channel, message.get()));
+    }
+
+    @Override
+    public void logOnFormatted(String channel, String pattern, Object... arguments) {
+        ChannelRoute route = routes.get(channel);
+        if (route != null && !route.shouldLog()) {
+            return;
+        }
+        send(route, LogEvent.ofFormatted(L.DEBUG, channel, pattern, arguments));
+    }
+
+    private void send(ChannelRoute route, LogEvent event) {
+        AsyncDispatch dispatch = async;
+        if (dispatch != null) {
+            for (int i = 0; i < dispatch.loggers.length; i++) {
+                if (route == null || route.sendsTo(dispatch.loggers[i])) {
+                    dispatch.sinks[i].offer(event);
+                }
+            }
+            return;
+        }
         for (DebugLogger logger : loggers) {
-            logger.logOn(channel, lines);
+            if (route == null || route.sendsTo(logger)) {
+                logger.log(event);
+            }
         }
     }
 
+    @Override
+    public boolean isEnabled(String channel) {
+        ChannelRoute route = routes.get(channel);
+        return route == null || route.isEnabled();
+    }
+
+    /**
+     * Enable or disable a debug channel, keeping the rest of its route.
+     *
+     * @param channel Channel to change.
+     * @param enabled false to discard messages of the channel.
+     */
+    public synchronized void setChannelEnabled(String channel, boolean enabled) {
+        setRoute(channel, getRoute(channel).orElseGet(ChannelRoute::all).withEnabled(enabled));
+    }
+
+    /**
+     * Set how messages of a debug channel are routed.
+     *
+     * @param channel Channel to route.
+     * @param route   Route of the channel, null to send every message to every logger.
+     */
+    public synchronized void setRoute(String channel, ChannelRoute route) {
+        Map<String, ChannelRoute> changed = new HashMap<>(routes);
+        if (route != null) {
+            changed.put(channel, route);
+        } else {
+            changed.remove(channel);
+        }
+        routes = Collections.unmodifiableMap(changed);
+    }
+
+    /**
+     * Get the route of a debug channel.
+     *
+     * @param channel Channel to get the route of.
+     * @return Optional of the route, empty if the channel is sent to every logger.
+     */
+    public Optional<ChannelRoute> getRoute(String channel) {
+        return Optional.ofNullable(routes.get(channel));
+    }
+
     /**
      * Swap used debug loggers on the fly.
      *
      * @param loggers debug loggers to use.
      */
-    public void setDebugLoggers(DebugLogger... loggers) {
+    public synchronized void setDebugLoggers(DebugLogger... loggers) {
         this.loggers = loggers;
+        if (async != null) {
+            startAsync(asyncPolicy, asyncCapacity, asyncErrorHandler);
+        }
+    }
+
+    /**
+     * Start calling each debug logger on its own thread.
+     *
+     * @param policy   What to do when a logger can not keep up.
+     * @param capacity How many messages can be queued for each logger.
+     */
+    public synchronized void startAsync(BackpressurePolicy policy, int capacity) {
+        startAsync(policy, capacity, null);
+    }
+
+    /**
+     * Start calling each debug logger on its own thread, reporting failures of the loggers to an {@link ErrorHandler}.
+     *
+     * @param policy       What to do when a logger can not keep up.
+     * @param capacity     How many messages can be queued for each logger.
+     * @param errorHandler Supplier for the ErrorHandler, null to report failures to {@link java.util.logging}.
+     */
+    public synchronized void startAsync(BackpressurePolicy policy, int capacity, Supplier<ErrorHandler> errorHandler) {
+        stopAsync();
+        DebugLogger[] current = loggers;
+        AsyncSink[] sinks = new AsyncSink[current.length];
+        for (int i = 0; i < current.length; i++) {
+            DebugLogger logger = current[i];
+            sinks[i] = new AsyncSink(logger.getClass().getSimpleName(),
+                    event -> logger.log(event), policy, capacity, errorHandler);
+        }
+        asyncPolicy = policy;
+        asyncCapacity = capacity;
+        asyncErrorHandler = errorHandler;
+        async = new AsyncDispatch(current, sinks);
+    }
+
+    /**
+     * Stop calling the debug loggers on their own threads, waiting for the queued messages to be logged.
+     */
+    public synchronized void stopAsync() {
+        AsyncDispatch dispatch = async;
+        async = null;
+        if (dispatch != null) {
+            for (AsyncSink sink : dispatch.sinks) {
+                sink.close();
+            }
+        }
+    }
+
+    /**
+     * Get how many messages have been discarded because a logger could not keep up in async mode.
+     *
+     * @return Count of discarded messages of the current async loggers, 0 if not in async mode.
+     */
+    public long getDroppedEvents() {
+        AsyncDispatch dispatch = async;
+        long dropped = 0L;
+        if (dispatch != null) {
+            for (AsyncSink sink : dispatch.sinks) {
+                dropped += sink.getDroppedEvents();
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Get how many messages a logger has failed to log in async mode.
+     *
+     * @return Count of messages the current async loggers threw an exception for, 0 if not in async mode.
+     */
+    public long getFailedEvents() {
+        AsyncDispatch dispatch = async;
+        long failed = 0L;
+        if (dispatch != null) {
+            for (AsyncSink sink : dispatch.sinks) {
+                failed += sink.getFailedEvents();
+            }
+        }
+        return failed;
     }
 
     /**
@@ -74,4 +264,14 @@ public class CombineDebugLogger implements DebugLogger {
         }
         return Optional.empty();
     }
+
+    private static class AsyncDispatch {
+        private final DebugLogger[] loggers;
+        private final AsyncSink[] sinks;
+
+        private AsyncDispatch(DebugLogger[] loggers, AsyncSink[] sinks) {
+            this.loggers = loggers;
+            this.sinks = sinks;
+        }
+    }
 }
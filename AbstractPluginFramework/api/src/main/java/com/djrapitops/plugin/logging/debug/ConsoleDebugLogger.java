@@ -24,6 +24,7 @@
 package com.djrapitops.plugin.logging.debug;
 
 import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.LogEvent;
 import com.djrapitops.plugin.logging.console.PluginLogger;
 
 /**
@@ -50,4 +51,14 @@ public class ConsoleDebugLogger implements DebugLogger {
             logger.log(L.DEBUG_INFO, "[" + channel + "] " + line);
         }
     }
+
+    @Override
+    public void log(LogEvent event) {
+        String prefix = "[" + event.getChannel() + "] ";
+        String[] lines = new String[event.getLineCount()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = prefix + event.getLine(i);
+        }
+        logger.log(L.DEBUG_INFO, lines);
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.debug;
+
+import com.djrapitops.plugin.logging.MessageFormatter;
+import com.djrapitops.plugin.logging.TimeStampFormat;
+
+/**
+ * A line kept in memory by {@link MemoryDebugLogger}.
+ * <p>
+ * The timestamp is formatted only when the entry is displayed. Entries stored in compact mode keep a shared
+ * template and the arguments instead of the line, and build the line when it is read.
+ *
+ * @author AuroraLS3
+ */
+public final class DebugEntry {
+
+    private final long time;
+    private final String channel;
+    private final String template;
+    private final String[] arguments;
+
+    DebugEntry(long time, String channel, String line) {
+        this(time, channel, line, null);
+    }
+
+    DebugEntry(long time, String channel, String template, String[] arguments) {
+        this.time = time;
+        this.channel = channel;
+        this.template = template;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Get the epoch millisecond the line was logged.
+     *
+     * @return Time of the logging call.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getLine() {
+        return arguments != null ? MessageFormatter.format(template, (Object[]) arguments) : template;
+    }
+
+    /**
+     * Get the line with {} in place of the arguments.
+     *
+     * @return Template of the line, or the line itself if the entry has no arguments.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Format the entry the same way as {@link MemoryDebugLogger#getChannels()}.
+     *
+     * @return {@code MM-dd HH:mm:ss | line}
+     */
+    @Override
+    public String toString() {
+        return TimeStampFormat.line().format(time) + " | " + getLine();
+    }
+}
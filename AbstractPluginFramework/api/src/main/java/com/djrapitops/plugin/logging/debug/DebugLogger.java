@@ -23,6 +23,11 @@
  */
 package com.djrapitops.plugin.logging.debug;
 
+import com.djrapitops.plugin.logging.LogEvent;
+import com.djrapitops.plugin.logging.MessageFormatter;
+
+import java.util.function.Supplier;
+
 /**
  * Interface for logging messages to a debug log.
  *
@@ -47,4 +52,62 @@ public interface DebugLogger {
      */
     void logOn(String channel, String... lines);
 
+    /**
+     * Log an event that was already created for the logging call.
+     * <p>
+     * Implementations should use the time of the event instead of looking up the current time.
+     *
+     * @param event Event with the channel and lines to log.
+     */
+    default void log(LogEvent event) {
+        logOn(event.getChannel(), event.getLinesArray());
+    }
+
+    /**
+     * Check if messages on a debug channel are going to be logged.
+     * <p>
+     * Can be used to skip building expensive messages.
+     *
+     * @param channel Channel to check.
+     * @return false if the messages would be discarded.
+     */
+    default boolean isEnabled(String channel) {
+        return true;
+    }
+
+    /**
+     * Log a message on the default channel, building it only if the channel is enabled.
+     *
+     * @param message Supplier for the message to log.
+     */
+    default void log(Supplier<String> message) {
+        logOn("", message);
+    }
+
+    /**
+     * Log a message on a specific debug channel, building it only if the channel is enabled.
+     *
+     * @param channel Channel to log the message on.
+     * @param message Supplier for the message to log.
+     */
+    default void logOn(String channel, Supplier<String> message) {
+        if (isEnabled(channel)) {
+            logOn(channel, message.get());
+        }
+    }
+
+    /**
+     * Log a message with {} placeholders on a specific debug channel, formatting it only if the channel is enabled.
+     *
+     * @param channel   Channel to log the message on.
+     * @param pattern   Message with {} placeholders.
+     * @param arguments Values for the placeholders.
+     * @see MessageFormatter#format(String, Object...)
+     */
+    default void logOnFormatted(String channel, String pattern, Object... arguments) {
+        if (isEnabled(channel)) {
+            logOn(channel, MessageFormatter.format(pattern, arguments));
+        }
+    }
+
 }
@@ -24,9 +24,13 @@
 package com.djrapitops.plugin.logging.debug;
 
 import com.djrapitops.plugin.logging.FolderTimeStampFileLogger;
+import com.djrapitops.plugin.logging.LogEvent;
+import com.djrapitops.plugin.logging.TimeStampFormat;
 import com.djrapitops.plugin.logging.error.ErrorHandler;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -52,4 +56,14 @@ public class FolderTimeStampFileDebugLogger extends FolderTimeStampFileLogger im
             log("[" + channel + "] " + line);
         }
     }
+
+    @Override
+    public void log(LogEvent event) {
+        String prefix = "| " + TimeStampFormat.line().format(event.getTime()) + " | [" + event.getChannel() + "] ";
+        List<String> lines = new ArrayList<>(event.getLineCount());
+        for (int i = 0; i < event.getLineCount(); i++) {
+            lines.add(prefix + event.getLine(i));
+        }
+        append(lines);
+    }
 }
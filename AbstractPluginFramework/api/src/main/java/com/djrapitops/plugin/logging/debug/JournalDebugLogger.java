@@ -0,0 +1,322 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.debug;
+
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.LogEvent;
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link DebugLogger} implementation that appends compact binary records to memory-mapped journal files.
+ * <p>
+ * Meant for logging every debug channel during investigations, where text files can not keep up.
+ * The journal is made of pre-allocated segments that are reused in rotation, so the disk usage stays at
+ * {@code segmentBytes * segmentCount}. Channel and thread names are written once per segment and the
+ * records refer to them by id, so logging a line costs a copy of its UTF-8 bytes into the mapped region.
+ * <p>
+ * The journal can be rendered as text with {@link JournalDecoder}.
+ *
+ * @author AuroraLS3
+ */
+public class JournalDebugLogger implements DebugLogger, AutoCloseable {
+
+    /**
+     * Name of the folder inside the plugin data folder that is used by default for the journal.
+     */
+    public static final String DEFAULT_FOLDER = "journal";
+
+    static final String SEGMENT_PREFIX = "DebugJournal-";
+    static final String SEGMENT_SUFFIX = ".bin";
+    static final byte[] MAGIC = "APFJRNL1".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_BYTES = 24; // magic, sequence, creation time
+
+    static final byte END = 0;
+    static final byte CHANNEL = 1;
+    static final byte THREAD = 2;
+    static final byte ENTRY = 3;
+    static final int DEFINITION_HEADER_BYTES = 7; // type, id, length
+    static final int ENTRY_HEADER_BYTES = 21; // type, time, channel id, thread id, length
+    static final int MAX_NAME_BYTES = 1024;
+
+    private static final int MIN_SEGMENT_BYTES = 4096;
+
+    private final File folder;
+    private final Supplier<ErrorHandler> errorHandler;
+    private final int segmentBytes;
+    private final int segmentCount;
+
+    private final Map<String, Integer> channelIds;
+    private final Map<String, Integer> threadIds;
+    private final BitSet definedChannels;
+    private final BitSet definedThreads;
+    private final CharsetEncoder encoder;
+
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private long sequence;
+    private boolean closed;
+
+    /**
+     * Create a new JournalDebugLogger with 4 segments of 16 MB.
+     *
+     * @param folder       Folder to store the journal in, for example {@code new File(dataFolder, DEFAULT_FOLDER)}.
+     * @param errorHandler Supplier for the {@link ErrorHandler} if writing to the journal fails.
+     */
+    public JournalDebugLogger(File folder, Supplier<ErrorHandler> errorHandler) {
+        this(folder, errorHandler, 16 * 1024 * 1024, 4);
+    }
+
+    /**
+     * Create a new JournalDebugLogger.
+     *
+     * @param folder       Folder to store the journal in, for example {@code new File(dataFolder, DEFAULT_FOLDER)}.
+     * @param errorHandler Supplier for the {@link ErrorHandler} if writing to the journal fails.
+     * @param segmentBytes Size of each pre-allocated segment file.
+     * @param segmentCount How many segments are used in rotation before the oldest is overwritten.
+     * @throws IllegalArgumentException If segmentBytes is less than 4096 or segmentCount is less than 1.
+     */
+    public JournalDebugLogger(File folder, Supplier<ErrorHandler> errorHandler, int segmentBytes, int segmentCount) {
+        if (segmentBytes < MIN_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Segment size must be at least " + MIN_SEGMENT_BYTES + " bytes, was " + segmentBytes);
+        }
+        if (segmentCount < 1) {
+            throw new IllegalArgumentException("Segment count must be at least 1, was " + segmentCount);
+        }
+        this.folder = folder;
+        this.errorHandler = errorHandler;
+        this.segmentBytes = segmentBytes;
+        this.segmentCount = segmentCount;
+
+        channelIds = new HashMap<>();
+        threadIds = new HashMap<>();
+        definedChannels = new BitSet();
+        definedThreads = new BitSet();
+        encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        segmentIndex = -1;
+    }
+
+    static File getSegmentFile(File folder, int index) {
+        return new File(folder, SEGMENT_PREFIX + index + SEGMENT_SUFFIX);
+    }
+
+    @Override
+    public void logOn(String channel, String... lines) {
+        long time = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+        append(time, channel, thread, lines);
+    }
+
+    @Override
+    public void log(LogEvent event) {
+        append(event.getTime(), event.getChannel(), event.getThread(), event.getLinesArray());
+    }
+
+    private synchronized void append(long time, String channel, String thread, String[] lines) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (segment == null) {
+                openNextSegment();
+            }
+            for (String line : lines) {
+                if (!tryAppend(time, channel, thread, line, false)) {
+                    openNextSegment();
+                    tryAppend(time, channel, thread, line, true);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Stop journaling instead of failing every debug call after this.
+            closed = true;
+            segment = null;
+            errorHandler.get().log(L.WARN, this.getClass(), e);
+        }
+    }
+
+    private boolean tryAppend(long time, String channel, String thread, String line, boolean truncate) {
+        int channelId = define(CHANNEL, channelIds, definedChannels, channel);
+        int threadId = define(THREAD, threadIds, definedThreads, thread);
+        if (channelId < 0 || threadId < 0) {
+            return false;
+        }
+
+        int start = segment.position();
+        if (segment.remaining() < ENTRY_HEADER_BYTES + 1) {
+            return false;
+        }
+        segment.position(start + 1);
+        segment.putLong(time).putInt(channelId).putInt(threadId);
+        int lengthAt = segment.position();
+        int payloadStart = lengthAt + 4;
+        segment.position(payloadStart);
+
+        // Leave room for the END marker after the record.
+        segment.limit(segmentBytes - 1);
+        encoder.reset();
+        CoderResult result = encoder.encode(CharBuffer.wrap(line), segment, true);
+        if (!result.isOverflow()) {
+            result = encoder.flush(segment);
+        }
+        segment.limit(segmentBytes);
+        if (result.isOverflow() && !truncate) {
+            segment.position(start);
+            return false;
+        }
+
+        int end = segment.position();
+        segment.putInt(lengthAt, end - payloadStart);
+        commit(start, ENTRY, end);
+        return true;
+    }
+
+    private int define(byte type, Map<String, Integer> ids, BitSet defined, String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = ids.size();
+            ids.put(name, id);
+        }
+        if (defined.get(id)) {
+            return id;
+        }
+
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            bytes = Arrays.copyOf(bytes, MAX_NAME_BYTES);
+        }
+        int start = segment.position();
+        if (segment.remaining() < DEFINITION_HEADER_BYTES + bytes.length + 1) {
+            return -1;
+        }
+        segment.position(start + 1);
+        segment.putInt(id).putShort((short) bytes.length).put(bytes);
+        commit(start, type, segment.position());
+        defined.set(id);
+        return id;
+    }
+
+    private void commit(int start, byte type, int end) {
+        // The type is written last, so a reader never sees a record that is only partially written.
+        segment.put(end, END);
+        segment.put(start, type);
+    }
+
+    private void openNextSegment() throws IOException {
+        if (segmentIndex < 0) {
+            findLatestSegment();
+        }
+        segmentIndex = (segmentIndex + 1) % segmentCount;
+        sequence++;
+
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Could not create journal folder " + folder.getAbsolutePath());
+        }
+        try (RandomAccessFile file = new RandomAccessFile(getSegmentFile(folder, segmentIndex), "rw")) {
+            if (file.length() != segmentBytes) {
+                file.setLength(segmentBytes);
+            }
+            segment = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        segment.put(MAGIC).putLong(sequence).putLong(System.currentTimeMillis());
+        segment.put(HEADER_BYTES, END);
+        segment.position(HEADER_BYTES);
+        definedChannels.clear();
+        definedThreads.clear();
+    }
+
+    private void findLatestSegment() {
+        // Continue after the newest segment of a previous run, so that the older segments are overwritten first.
+        segmentIndex = segmentCount - 1;
+        sequence = 0L;
+        for (int i = 0; i < segmentCount; i++) {
+            long found = readSequence(getSegmentFile(folder, i));
+            if (found > sequence) {
+                sequence = found;
+                segmentIndex = i;
+            }
+        }
+    }
+
+    static long readSequence(File file) {
+        if (!file.exists()) {
+            return -1L;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            return Arrays.equals(magic, MAGIC) ? in.readLong() : -1L;
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Write the journal to the disk, so that it survives a crash of the operating system.
+     * <p>
+     * Not needed for reading the journal while the server is running, or after the server process exits.
+     */
+    public synchronized void force() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Get the folder the journal is stored in.
+     *
+     * @return Folder given in the constructor.
+     */
+    public File getFolder() {
+        return folder;
+    }
+
+    /**
+     * Stop journaling, later messages are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        force();
+        closed = true;
+        segment = null;
+    }
+}
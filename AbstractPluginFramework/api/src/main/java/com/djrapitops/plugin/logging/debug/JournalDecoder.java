@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.debug;
+
+import com.djrapitops.plugin.logging.TimeStampFormat;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility for rendering the binary journal of {@link JournalDebugLogger} as text.
+ * <p>
+ * Lines have the format {@code | MM-dd HH:mm:ss | thread | [channel] message}.
+ * Can be run offline with {@code java -cp <jar> com.djrapitops.plugin.logging.debug.JournalDecoder <folder> [output file]}.
+ *
+ * @author AuroraLS3
+ */
+public class JournalDecoder {
+
+    private JournalDecoder() {
+        /* Static method class */
+    }
+
+    /**
+     * Render every segment of a journal folder, oldest first.
+     *
+     * @param folder Folder of the journal.
+     * @return Lines of the journal, empty if the folder has no journal segments.
+     * @throws IOException If a segment can not be read.
+     */
+    public static List<String> decode(File folder) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (File file : listSegments(folder)) {
+            lines.addAll(decodeSegment(file));
+        }
+        return lines;
+    }
+
+    /**
+     * Render the latest lines of a journal folder, oldest first.
+     * <p>
+     * Segments are read from the newest backwards until enough lines have been found.
+     *
+     * @param folder Folder of the journal.
+     * @param amount How many lines to render, at least 1.
+     * @return At most amount latest lines of the journal, empty if the folder has no journal segments.
+     * @throws IOException              If a segment can not be read.
+     * @throws IllegalArgumentException If amount is less than 1.
+     */
+    public static List<String> tail(File folder, int amount) throws IOException {
+        if (amount < 1) {
+            throw new IllegalArgumentException("Amount must be at least 1, was " + amount);
+        }
+        List<File> segments = listSegments(folder);
+        List<String> lines = new ArrayList<>();
+        for (int i = segments.size() - 1; i >= 0 && lines.size() < amount; i--) {
+            lines.addAll(0, decodeSegment(segments.get(i)));
+        }
+        return new ArrayList<>(lines.subList(Math.max(0, lines.size() - amount), lines.size()));
+    }
+
+    /**
+     * Write every segment of a journal folder to a text file, oldest first.
+     * <p>
+     * Segments are decoded and written one at a time, so the whole journal is not held in memory.
+     *
+     * @param folder Folder of the journal.
+     * @param output File to write the lines to, replaced if it exists.
+     * @return Count of written lines.
+     * @throws IOException If a segment can not be read or the output can not be written.
+     */
+    public static long export(File folder, File output) throws IOException {
+        long written = 0L;
+        try (BufferedWriter out = Files.newBufferedWriter(output.toPath(), StandardCharsets.UTF_8)) {
+            for (File segment : listSegments(folder)) {
+                for (String line : decodeSegment(segment)) {
+                    out.write(line);
+                    out.newLine();
+                    written++;
+                }
+            }
+        }
+        return written;
+    }
+
+    private static List<File> listSegments(File folder) throws IOException {
+        File[] files = folder.listFiles((dir, name) ->
+                name.startsWith(JournalDebugLogger.SEGMENT_PREFIX) && name.endsWith(JournalDebugLogger.SEGMENT_SUFFIX));
+        List<File> segments = new ArrayList<>();
+        if (files == null) {
+            return segments;
+        }
+        Map<File, Long> sequences = new HashMap<>();
+        for (File file : files) {
+            sequences.put(file, JournalDebugLogger.readSequence(file));
+        }
+        Arrays.sort(files, Comparator.comparing(sequences::get));
+        for (File file : files) {
+            if (sequences.get(file) >= 0) {
+                segments.add(file);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Render a single segment of a journal.
+     * <p>
+     * Reading stops at the end of the written records, or at the first record that is not complete.
+     *
+     * @param file Segment file.
+     * @return Lines of the segment, empty if the file is not a journal segment.
+     * @throws IOException If the file can not be read.
+     */
+    public static List<String> decodeSegment(File file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        List<String> lines = new ArrayList<>();
+        if (buffer.remaining() < JournalDebugLogger.HEADER_BYTES) {
+            return lines;
+        }
+        byte[] magic = new byte[JournalDebugLogger.MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, JournalDebugLogger.MAGIC)) {
+            return lines;
+        }
+        buffer.position(JournalDebugLogger.HEADER_BYTES);
+
+        Map<Integer, String> channels = new HashMap<>();
+        Map<Integer, String> threads = new HashMap<>();
+        while (buffer.hasRemaining()) {
+            byte type = buffer.get();
+            if (type == JournalDebugLogger.CHANNEL || type == JournalDebugLogger.THREAD) {
+                if (buffer.remaining() < JournalDebugLogger.DEFINITION_HEADER_BYTES - 1) {
+                    break;
+                }
+                int id = buffer.getInt();
+                int length = buffer.getShort() & 0xFFFF;
+                if (length > buffer.remaining()) {
+                    break;
+                }
+                String name = readString(buffer, length);
+                (type == JournalDebugLogger.CHANNEL ? channels : threads).put(id, name);
+            } else if (type == JournalDebugLogger.ENTRY) {
+                if (buffer.remaining() < JournalDebugLogger.ENTRY_HEADER_BYTES - 1) {
+                    break;
+                }
+                long time = buffer.getLong();
+                String channel = channels.getOrDefault(buffer.getInt(), "?");
+                String thread = threads.getOrDefault(buffer.getInt(), "?");
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    break;
+                }
+                String message = readString(buffer, length);
+                lines.add("| " + TimeStampFormat.line().format(time) + " | " + thread + " | [" + channel + "] " + message);
+            } else {
+                // END marker, or the rest of a segment that was not written to.
+                break;
+            }
+        }
+        return lines;
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Render a journal folder on the command line.
+     *
+     * @param args journal folder, and optionally a file to write the text to instead of the standard output.
+     * @throws IOException If the journal can not be read or the output can not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: JournalDecoder <journal folder> [output file]");
+            return;
+        }
+        if (args.length >= 2) {
+            export(new File(args[0]), new File(args[1]));
+            return;
+        }
+        List<String> lines = decode(new File(args[0]));
+        PrintStream out = System.out;
+        for (String line : lines) {
+            out.println(line);
+        }
+    }
+}
@@ -23,38 +23,174 @@
  */
 package com.djrapitops.plugin.logging.debug;
 
-import com.djrapitops.plugin.utilities.EjectingQueue;
+import com.djrapitops.plugin.logging.LogEvent;
+import com.djrapitops.plugin.logging.MessageFormatter;
+import com.djrapitops.plugin.logging.TimeStampFormat;
+import com.djrapitops.plugin.utilities.ConcurrentRingBuffer;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 
-import java.text.SimpleDateFormat;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * {@link DebugLogger} implementation that logs messages to be kept in memory.
+ * <p>
+ * Each channel keeps the latest messages in a {@link ConcurrentRingBuffer}, so logging from many threads does not
+ * block and reading the messages does not block logging.
+ * <p>
+ * The query methods stream the kept {@link DebugEntry}s without copying the channels. Entries of a channel are
+ * in logged order, so time range queries find their start with a binary search.
+ * <p>
+ * In compact mode repeated text is stored once: messages are split into a template and arguments, and both are
+ * interned. Formatted messages keep their own pattern, and in plain lines the words that contain digits become
+ * the arguments. The lines are built again when they are read, so longer histories fit in the same memory.
  *
  * @author AuroraLS3
  */
 public class MemoryDebugLogger implements DebugLogger {
 
-    private final Map<String, EjectingQueue<String>> channels;
+    private final int capacity;
+    private final Map<String, ConcurrentRingBuffer<DebugEntry>> channels;
+    private final Interner<String> interner;
 
     /**
-     * Create a new MemoryDebugLogger.
+     * Create a new MemoryDebugLogger that keeps 100 latest messages of each channel.
      */
     public MemoryDebugLogger() {
-        channels = new HashMap<>();
+        this(100);
+    }
+
+    /**
+     * Create a new MemoryDebugLogger.
+     *
+     * @param capacity How many latest messages to keep of each channel.
+     * @throws IllegalArgumentException If capacity is less than 1.
+     */
+    public MemoryDebugLogger(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Create a new MemoryDebugLogger.
+     *
+     * @param capacity How many latest messages to keep of each channel.
+     * @param compact  true to store repeated templates and arguments once, at the cost of building the lines on read.
+     * @throws IllegalArgumentException If capacity is less than 1.
+     */
+    public MemoryDebugLogger(int capacity, boolean compact) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, was " + capacity);
+        }
+        this.capacity = capacity;
+        channels = new ConcurrentHashMap<>();
+        interner = compact ? Interners.newWeakInterner() : null;
     }
 
     @Override
     public void logOn(String channel, String... lines) {
-        String timeStamp = getTimeStamp();
-        EjectingQueue<String> messages = channels.getOrDefault(channel, new EjectingQueue<>(100));
+        long time = System.currentTimeMillis();
+        ConcurrentRingBuffer<DebugEntry> messages = getChannel(channel);
         for (String line : lines) {
-            messages.add(timeStamp + " | " + line);
+            messages.add(createEntry(time, channel, line));
+        }
+    }
+
+    @Override
+    public void logOnFormatted(String channel, String pattern, Object... arguments) {
+        long time = System.currentTimeMillis();
+        if (interner == null) {
+            getChannel(channel).add(new DebugEntry(time, channel, MessageFormatter.format(pattern, arguments)));
+        } else {
+            getChannel(channel).add(createEntry(time, channel, pattern, MessageFormatter.toStrings(arguments)));
         }
-        channels.put(channel, messages);
+    }
+
+    @Override
+    public void log(LogEvent event) {
+        String channel = event.getChannel();
+        ConcurrentRingBuffer<DebugEntry> messages = getChannel(channel);
+        if (interner != null && event.getTemplate() != null) {
+            messages.add(createEntry(event.getTime(), channel, event.getTemplate(), event.getArguments()));
+            return;
+        }
+        for (int i = 0; i < event.getLineCount(); i++) {
+            messages.add(createEntry(event.getTime(), channel, event.getLine(i)));
+        }
+    }
+
+    private DebugEntry createEntry(long time, String channel, String template, String[] arguments) {
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = interner.intern(arguments[i]);
+        }
+        return new DebugEntry(time, channel, interner.intern(template), arguments);
+    }
+
+    private DebugEntry createEntry(long time, String channel, String line) {
+        if (interner == null) {
+            return new DebugEntry(time, channel, line);
+        }
+        // A line that already has placeholders can not be split without changing how it is built back.
+        if (line.contains("{}")) {
+            return new DebugEntry(time, channel, interner.intern(line));
+        }
+        StringBuilder template = null;
+        List<String> arguments = null;
+        int copiedUntil = 0;
+        int wordStart = 0;
+        for (int i = 0; i <= line.length(); i++) {
+            if (i < line.length() && line.charAt(i) != ' ') {
+                continue;
+            }
+            if (containsDigit(line, wordStart, i)) {
+                if (template == null) {
+                    template = new StringBuilder(line.length());
+                    arguments = new ArrayList<>();
+                }
+                template.append(line, copiedUntil, wordStart).append("{}");
+                arguments.add(line.substring(wordStart, i));
+                copiedUntil = i;
+            }
+            wordStart = i + 1;
+        }
+        if (template == null) {
+            return new DebugEntry(time, channel, interner.intern(line));
+        }
+        template.append(line, copiedUntil, line.length());
+        return createEntry(time, channel, template.toString(), arguments.toArray(new String[0]));
+    }
+
+    private static boolean containsDigit(String line, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.isDigit(line.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ConcurrentRingBuffer<DebugEntry> getChannel(String channel) {
+        ConcurrentRingBuffer<DebugEntry> messages = channels.get(channel);
+        if (messages != null) {
+            return messages;
+        }
+        return channels.computeIfAbsent(channel, key -> new ConcurrentRingBuffer<>(capacity));
     }
 
     /**
@@ -63,18 +199,154 @@ public class MemoryDebugLogger implements DebugLogger {
      * @return Timestamp of format MM-dd HH:mm:ss
      */
     public String getTimeStamp() {
-        return new SimpleDateFormat("MM-dd HH:mm:ss").format(System.currentTimeMillis());
+        return TimeStampFormat.line().now();
     }
 
     /**
      * Retrieve the map of channels and messages in memory.
      * <p>
      * Reference to an instance to this map should not be stored in a class variable.
+     * Copies every channel, prefer the query methods when only some of the messages are needed.
      *
      * @return Map: channel name - immutable list of messages.
      */
     public Map<String, List<String>> getChannels() {
         return channels.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getElements()));
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().stream()
+                        .map(DebugEntry::toString)
+                        .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList))));
+    }
+
+    /**
+     * Get names of the channels that have been logged on.
+     *
+     * @return Unmodifiable view of the channel names.
+     */
+    public Set<String> getChannelNames() {
+        return Collections.unmodifiableSet(channels.keySet());
+    }
+
+    /**
+     * Stream the latest entries of a channel.
+     *
+     * @param channel Channel to read.
+     * @param amount  Maximum amount of entries.
+     * @return Entries oldest first, empty if nothing has been logged on the channel.
+     */
+    public Stream<DebugEntry> getLatest(String channel, int amount) {
+        ConcurrentRingBuffer<DebugEntry> messages = channels.get(channel);
+        if (messages == null) {
+            return Stream.empty();
+        }
+        long end = messages.getAddedCount();
+        long start = Math.max(messages.getOldestSequence(), end - amount);
+        return messages.stream(start, end);
+    }
+
+    /**
+     * Stream entries of a channel logged during a time range.
+     *
+     * @param channel Channel to read.
+     * @param from    Epoch ms, inclusive.
+     * @param to      Epoch ms, exclusive.
+     * @return Entries oldest first.
+     */
+    public Stream<DebugEntry> getBetween(String channel, long from, long to) {
+        ConcurrentRingBuffer<DebugEntry> messages = channels.get(channel);
+        if (messages == null) {
+            return Stream.empty();
+        }
+        long end = messages.getAddedCount();
+        long start = findFirstAtOrAfter(messages, messages.getOldestSequence(), end, from);
+        long stop = findFirstAtOrAfter(messages, start, end, to);
+        return messages.stream(start, stop);
+    }
+
+    /**
+     * Stream entries of all channels logged during a time range.
+     *
+     * @param from Epoch ms, inclusive.
+     * @param to   Epoch ms, exclusive.
+     * @return Entries in order of time.
+     */
+    public Stream<DebugEntry> getBetween(long from, long to) {
+        return mergeByTime(channel -> getBetween(channel, from, to));
+    }
+
+    /**
+     * Stream entries of a channel that contain some text.
+     *
+     * @param channel Channel to read.
+     * @param text    Text to look for, case sensitive.
+     * @return Matching entries oldest first.
+     */
+    public Stream<DebugEntry> search(String channel, String text) {
+        ConcurrentRingBuffer<DebugEntry> messages = channels.get(channel);
+        if (messages == null) {
+            return Stream.empty();
+        }
+        return messages.stream().filter(entry -> entry.getLine().contains(text));
+    }
+
+    /**
+     * Stream entries of all channels that contain some text.
+     *
+     * @param text Text to look for, case sensitive.
+     * @return Matching entries in order of time.
+     */
+    public Stream<DebugEntry> search(String text) {
+        return mergeByTime(channel -> search(channel, text));
+    }
+
+    /**
+     * Merge the time ordered streams of every channel into one stream in order of time, without buffering them.
+     *
+     * @param query Query that streams entries of a channel oldest first.
+     * @return Stream of the entries of all channels.
+     */
+    private Stream<DebugEntry> mergeByTime(Function<String, Stream<DebugEntry>> query) {
+        PriorityQueue<PeekingIterator<DebugEntry>> heads = new PriorityQueue<>(
+                Comparator.comparingLong(head -> head.peek().getTime()));
+        for (String channel : channels.keySet()) {
+            Iterator<DebugEntry> entries = query.apply(channel).iterator();
+            if (entries.hasNext()) {
+                heads.add(Iterators.peekingIterator(entries));
+            }
+        }
+        Iterator<DebugEntry> merged = new Iterator<DebugEntry>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public DebugEntry next() {
+                PeekingIterator<DebugEntry> head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                DebugEntry entry = head.next();
+                if (head.hasNext()) {
+                    heads.add(head);
+                }
+                return entry;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static long findFirstAtOrAfter(ConcurrentRingBuffer<DebugEntry> messages, long low, long high, long time) {
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            DebugEntry entry = messages.getWritten(middle);
+            // Overwritten and cleared entries are older than every entry that is kept.
+            if (entry == null || entry.getTime() < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
     }
 }
@@ -23,18 +23,31 @@
  */
 package com.djrapitops.plugin.logging.error;
 
+import com.djrapitops.plugin.logging.AsyncSink;
+import com.djrapitops.plugin.logging.BackpressurePolicy;
 import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.LogEvent;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * {@link ErrorHandler} implementation that accepts multiple {@link ErrorHandler} instances and calls every one.
+ * <p>
+ * With {@link #startAsync(BackpressurePolicy, int)} each handler is called on its own thread through an
+ * {@link AsyncSink}. {@code L.CRITICAL} errors are always handled on the calling thread.
+ * If a handler fails on its thread, the failure is passed to the other handlers.
  *
  * @author AuroraLS3
  */
 public class CombineErrorHandler implements ErrorHandler {
 
+    private final AtomicLongArray errorCounts;
     private ErrorHandler[] handlers;
+    private volatile ErrorDeduplicator deduplicator;
+    private volatile AsyncSink[] asyncSinks;
+    private BackpressurePolicy asyncPolicy;
+    private int asyncCapacity;
 
     /**
      * Create a new CombineErrorHandler.
@@ -43,10 +56,24 @@ public class CombineErrorHandler implements ErrorHandler {
      */
     public CombineErrorHandler(ErrorHandler... handlers) {
         this.handlers = handlers;
+        this.errorCounts = new AtomicLongArray(L.values().length);
     }
 
     @Override
     public void log(L level, Class caughtBy, Throwable throwable) {
+        errorCounts.incrementAndGet(level.ordinal());
+        ErrorDeduplicator dedup = deduplicator;
+        if (dedup != null && !dedup.shouldLog(level, caughtBy, throwable)) {
+            return;
+        }
+        AsyncSink[] sinks = asyncSinks;
+        if (sinks != null && level != L.CRITICAL) {
+            LogEvent event = LogEvent.ofError(level, caughtBy, throwable);
+            for (AsyncSink sink : sinks) {
+                sink.offer(event);
+            }
+            return;
+        }
         for (ErrorHandler handler : handlers) {
             handler.log(level, caughtBy, throwable);
         }
@@ -57,8 +84,119 @@ public class CombineErrorHandler implements ErrorHandler {
      *
      * @param handlers New ErrorHandlers to use.
      */
-    public void setErrorHandlers(ErrorHandler... handlers) {
+    public synchronized void setErrorHandlers(ErrorHandler... handlers) {
         this.handlers = handlers;
+        if (asyncSinks != null) {
+            startAsync(asyncPolicy, asyncCapacity);
+        }
+    }
+
+    /**
+     * Start calling each error handler on its own thread.
+     *
+     * @param policy   What to do when a handler can not keep up.
+     * @param capacity How many errors can be queued for each handler.
+     */
+    public synchronized void startAsync(BackpressurePolicy policy, int capacity) {
+        stopAsync();
+        ErrorHandler[] current = handlers;
+        AsyncSink[] sinks = new AsyncSink[current.length];
+        for (int i = 0; i < current.length; i++) {
+            ErrorHandler handler = current[i];
+            ErrorHandler others = othersThan(current, handler);
+            sinks[i] = new AsyncSink(handler.getClass().getSimpleName(),
+                    event -> handler.log(event.getLevel(), event.getCaughtBy(), event.getThrowable()), policy, capacity,
+                    () -> others);
+        }
+        asyncPolicy = policy;
+        asyncCapacity = capacity;
+        asyncSinks = sinks;
+    }
+
+    private static ErrorHandler othersThan(ErrorHandler[] handlers, ErrorHandler failing) {
+        return (level, caughtBy, throwable) -> {
+            for (ErrorHandler handler : handlers) {
+                if (handler != failing) {
+                    handler.log(level, caughtBy, throwable);
+                }
+            }
+        };
+    }
+
+    /**
+     * Stop calling the error handlers on their own threads, waiting for the queued errors to be handled.
+     */
+    public synchronized void stopAsync() {
+        AsyncSink[] sinks = asyncSinks;
+        asyncSinks = null;
+        if (sinks != null) {
+            for (AsyncSink sink : sinks) {
+                sink.close();
+            }
+        }
+    }
+
+    /**
+     * Get how many errors have been discarded because a handler could not keep up in async mode.
+     *
+     * @return Count of discarded errors of the current async handlers, 0 if not in async mode.
+     */
+    public long getDroppedEvents() {
+        AsyncSink[] sinks = asyncSinks;
+        long dropped = 0L;
+        if (sinks != null) {
+            for (AsyncSink sink : sinks) {
+                dropped += sink.getDroppedEvents();
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Get how many errors a handler has failed to handle in async mode.
+     *
+     * @return Count of errors the current async handlers threw an exception for, 0 if not in async mode.
+     */
+    public long getFailedEvents() {
+        AsyncSink[] sinks = asyncSinks;
+        long failed = 0L;
+        if (sinks != null) {
+            for (AsyncSink sink : sinks) {
+                failed += sink.getFailedEvents();
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Suppress repeats of the same error before they reach the {@link ErrorHandler}s.
+     *
+     * @param deduplicator ErrorDeduplicator to use, null to pass every error to the handlers.
+     */
+    public void setDeduplicator(ErrorDeduplicator deduplicator) {
+        this.deduplicator = deduplicator;
+    }
+
+    /**
+     * Get the {@link ErrorDeduplicator} in use.
+     *
+     * @return Optional of the deduplicator, empty if every error is passed to the handlers.
+     */
+    public Optional<ErrorDeduplicator> getDeduplicator() {
+        return Optional.ofNullable(deduplicator);
+    }
+
+    /**
+     * Get how many errors have been logged on a level.
+     * <p>
+     * Repeats suppressed by the {@link ErrorDeduplicator} are included.
+     * The count is kept over {@link #setErrorHandlers(ErrorHandler...)} calls.
+     *
+     * @param level Level of the errors.
+     * @return Total count since this handler was created.
+     */
+    public long getErrorCount(L level) {
+        return errorCounts.get(level.ordinal());
     }
 
     /**
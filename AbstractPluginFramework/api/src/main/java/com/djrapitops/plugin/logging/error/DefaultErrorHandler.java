@@ -33,6 +33,7 @@ import java.util.function.Supplier;
  * {@link ErrorHandler} implementation that is used by default in APF plugins.
  * <p>
  * To replace ErrorHandlers in use call {@link CombineErrorHandler#setErrorHandlers(ErrorHandler...)}.
+ * Repeats of the same error are summarized by an {@link ErrorDeduplicator} instead of being logged in full.
  *
  * @author AuroraLS3
  */
@@ -47,6 +48,7 @@ public class DefaultErrorHandler extends CombineErrorHandler {
      */
     public DefaultErrorHandler(IPlugin plugin, PluginLogger logger, File logsFolder) {
         this(new ConsoleErrorLogger(logger), new CriticalErrorHandler(plugin), logsFolder);
+        setDeduplicator(new ErrorDeduplicator(logger));
     }
 
     /**
@@ -58,6 +60,7 @@ public class DefaultErrorHandler extends CombineErrorHandler {
      */
     public DefaultErrorHandler(IPlugin plugin, PluginLogger logger, Supplier<File> logsFolder) {
         this(new ConsoleErrorLogger(logger), new CriticalErrorHandler(plugin), logsFolder);
+        setDeduplicator(new ErrorDeduplicator(logger));
     }
 
     private DefaultErrorHandler(
@@ -0,0 +1,203 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.error;
+
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Suppresses repeats of the same error in {@link CombineErrorHandler}.
+ * <p>
+ * The first occurrence of each {@link ErrorFingerprint} is logged in full. Repeats are counted. A one line summary of
+ * the count is logged with {@link PluginLogger} once per summary interval by a daemon thread that starts on the first
+ * repeat, and the remaining counts are logged by {@link #close()} when the plugin is disabled.
+ * {@code L.CRITICAL} errors are never suppressed.
+ *
+ * @author AuroraLS3
+ */
+public class ErrorDeduplicator {
+
+    private static final int MAX_FINGERPRINTS = 1000;
+
+    private final PluginLogger logger;
+    private final Map<String, Occurrences> occurrences;
+    private volatile long summaryIntervalMs;
+    private volatile Thread summarizer;
+
+    /**
+     * Create a new ErrorDeduplicator that summarizes repeats once a minute.
+     *
+     * @param logger PluginLogger to log the repeat summaries with.
+     */
+    public ErrorDeduplicator(PluginLogger logger) {
+        this.logger = logger;
+        occurrences = new ConcurrentHashMap<>();
+        summaryIntervalMs = TimeUnit.MINUTES.toMillis(1L);
+    }
+
+    /**
+     * Change how often repeat counts are summarized.
+     *
+     * @param amount Amount of time.
+     * @param unit   Unit of the amount.
+     */
+    public void setSummaryInterval(long amount, TimeUnit unit) {
+        summaryIntervalMs = unit.toMillis(amount);
+    }
+
+    /**
+     * Decide if an error should be passed on to the error handlers.
+     *
+     * @param level     Level of severity.
+     * @param caughtBy  Class the throwable was caught by.
+     * @param throwable Throwable that was caught.
+     * @return true for the first occurrence of the error, false for repeats.
+     */
+    public boolean shouldLog(L level, Class caughtBy, Throwable throwable) {
+        if (level == L.CRITICAL) {
+            return true;
+        }
+        String key = caughtBy.getName() + '/' + ErrorFingerprint.of(throwable);
+        Occurrences existing = occurrences.get(key);
+        if (existing == null) {
+            if (occurrences.size() >= MAX_FINGERPRINTS) {
+                return true;
+            }
+            Occurrences created = new Occurrences(caughtBy, throwable);
+            existing = occurrences.putIfAbsent(key, created);
+            if (existing == null) {
+                return true;
+            }
+        }
+        existing.repeated();
+        if (System.currentTimeMillis() - existing.lastSummary.get() >= summaryIntervalMs) {
+            existing.summarize(logger);
+        }
+        if (summarizer == null) {
+            startSummarizer();
+        }
+        return false;
+    }
+
+    /**
+     * Log summaries of all errors that have repeated since their last summary.
+     */
+    public void summarize() {
+        for (Occurrences occurrence : occurrences.values()) {
+            occurrence.summarize(logger);
+        }
+    }
+
+    private synchronized void startSummarizer() {
+        if (summarizer != null) {
+            return;
+        }
+        summarizer = new Thread(this::summarizeUntilInterrupted, "APF Error Summarizer");
+        summarizer.setDaemon(true);
+        summarizer.start();
+    }
+
+    private void summarizeUntilInterrupted() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(Math.max(1L, summaryIntervalMs));
+                summarize();
+            }
+        } catch (InterruptedException stopped) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop the summary thread and log summaries of the repeats that have not been summarized yet.
+     * <p>
+     * Called when the plugin is disabled. The thread starts again on the next repeat.
+     */
+    public void close() {
+        synchronized (this) {
+            if (summarizer != null) {
+                summarizer.interrupt();
+                summarizer = null;
+            }
+        }
+        summarize();
+    }
+
+    /**
+     * Get how many times an error has repeated after its first occurrence.
+     *
+     * @param caughtBy  Class the throwable was caught by.
+     * @param throwable Throwable to look up by its fingerprint.
+     * @return Count of suppressed repeats, 0 if the error has not occurred.
+     */
+    public long getRepeatCount(Class caughtBy, Throwable throwable) {
+        Occurrences occurrence = occurrences.get(caughtBy.getName() + '/' + ErrorFingerprint.of(throwable));
+        return occurrence != null ? occurrence.total.get() : 0L;
+    }
+
+    /**
+     * Forget all errors, so that the next occurrence of each is logged in full again.
+     */
+    public void reset() {
+        occurrences.clear();
+    }
+
+    private static class Occurrences {
+        private final String description;
+        private final AtomicLong total;
+        private final AtomicLong sinceSummary;
+        private final AtomicLong lastSummary;
+
+        private Occurrences(Class caughtBy, Throwable throwable) {
+            description = throwable.getClass().getSimpleName() + " caught by " + caughtBy.getName()
+                    + " (" + ErrorFingerprint.of(throwable) + ")";
+            total = new AtomicLong();
+            sinceSummary = new AtomicLong();
+            lastSummary = new AtomicLong(System.currentTimeMillis());
+        }
+
+        private void repeated() {
+            total.incrementAndGet();
+            sinceSummary.incrementAndGet();
+        }
+
+        private void summarize(PluginLogger logger) {
+            long now = System.currentTimeMillis();
+            long previous = lastSummary.get();
+            if (!lastSummary.compareAndSet(previous, now)) {
+                return; // Another thread is summarizing
+            }
+            long repeats = sinceSummary.getAndSet(0L);
+            if (repeats > 0) {
+                logger.warn(description + " repeated " + repeats + " times in the last "
+                        + TimeUnit.MILLISECONDS.toSeconds(now - previous) + "s (" + total.get() + " total)");
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.error;
+
+/**
+ * Static utility for identifying repeated errors.
+ * <p>
+ * Errors with the same class and the same top stack frames are considered the same error,
+ * even if their messages differ.
+ *
+ * @author AuroraLS3
+ */
+public class ErrorFingerprint {
+
+    private static final int FRAMES = 5;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ErrorFingerprint() {
+        /* Static method class */
+    }
+
+    /**
+     * Create a fingerprint of a Throwable from its class and top 5 stack frames.
+     *
+     * @param throwable Throwable to fingerprint.
+     * @return 16 character hexadecimal fingerprint.
+     */
+    public static String of(Throwable throwable) {
+        long hash = hash(FNV_OFFSET, throwable.getClass().getName());
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        for (int i = 0; i < Math.min(FRAMES, stackTrace.length); i++) {
+            StackTraceElement frame = stackTrace[i];
+            hash = hash(hash, frame.getClassName());
+            hash = hash(hash, frame.getMethodName());
+            hash = hash ^ frame.getLineNumber();
+            hash *= FNV_PRIME;
+        }
+        String hex = Long.toHexString(hash);
+        StringBuilder padded = new StringBuilder(16);
+        for (int i = hex.length(); i < 16; i++) {
+            padded.append('0');
+        }
+        return padded.append(hex).toString();
+    }
+
+    private static long hash(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
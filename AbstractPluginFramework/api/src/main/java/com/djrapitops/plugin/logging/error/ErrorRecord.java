@@ -0,0 +1,231 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.error;
+
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.TimeStampFormat;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single error stored as one JSON line by {@link FolderTimeStampErrorFileLogger}.
+ * <p>
+ * Holds the time, level, catching class, {@link ErrorFingerprint} and the cause chain of the error.
+ *
+ * @author AuroraLS3
+ */
+public class ErrorRecord {
+
+    private final long time;
+    private final String level;
+    private final String caughtBy;
+    private final String fingerprint;
+    private final List<Cause> causes;
+
+    private ErrorRecord(long time, String level, String caughtBy, String fingerprint, List<Cause> causes) {
+        this.time = time;
+        this.level = level;
+        this.caughtBy = caughtBy;
+        this.fingerprint = fingerprint;
+        this.causes = causes;
+    }
+
+    /**
+     * Create a record of a caught Throwable at the current time.
+     *
+     * @param level     Level of severity.
+     * @param caughtBy  Class the throwable was caught by.
+     * @param throwable Throwable that was caught.
+     * @return new ErrorRecord.
+     */
+    public static ErrorRecord of(L level, Class caughtBy, Throwable throwable) {
+        List<Cause> causes = new ArrayList<>();
+        Throwable cause = throwable;
+        // Guard against cause loops
+        while (cause != null && causes.size() < 32) {
+            List<String> frames = new ArrayList<>();
+            for (StackTraceElement element : cause.getStackTrace()) {
+                frames.add(element.toString());
+            }
+            causes.add(new Cause(cause.getClass().getName(), cause.getMessage(), frames));
+            cause = cause.getCause();
+        }
+        return new ErrorRecord(System.currentTimeMillis(), level.name(), caughtBy.getName(),
+                ErrorFingerprint.of(throwable), causes);
+    }
+
+    /**
+     * Parse a record from a line written by {@link #toJson()}.
+     *
+     * @param line Line to parse.
+     * @return Optional of the record, empty if the line is not a record.
+     */
+    public static Optional<ErrorRecord> parse(String line) {
+        if (line == null || !line.startsWith("{")) {
+            return Optional.empty();
+        }
+        try {
+            Object parsed = new JSONParser().parse(line);
+            if (!(parsed instanceof JSONObject)) {
+                return Optional.empty();
+            }
+            JSONObject json = (JSONObject) parsed;
+            List<Cause> causes = new ArrayList<>();
+            for (Object causeObject : (JSONArray) json.getOrDefault("causes", new JSONArray())) {
+                JSONObject cause = (JSONObject) causeObject;
+                List<String> frames = new ArrayList<>();
+                for (Object frame : (JSONArray) cause.getOrDefault("frames", new JSONArray())) {
+                    frames.add(String.valueOf(frame));
+                }
+                causes.add(new Cause((String) cause.get("type"), (String) cause.get("message"), frames));
+            }
+            return Optional.of(new ErrorRecord(
+                    ((Number) json.get("time")).longValue(),
+                    (String) json.get("level"),
+                    (String) json.get("caughtBy"),
+                    (String) json.get("fingerprint"),
+                    causes
+            ));
+        } catch (ParseException | ClassCastException | NullPointerException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Turn the record into a single line of JSON.
+     *
+     * @return JSON without line breaks.
+     */
+    @SuppressWarnings("unchecked")
+    public String toJson() {
+        JSONArray causeArray = new JSONArray();
+        for (Cause cause : causes) {
+            JSONObject causeObject = new JSONObject();
+            causeObject.put("type", cause.type);
+            causeObject.put("message", cause.message);
+            JSONArray frames = new JSONArray();
+            frames.addAll(cause.frames);
+            causeObject.put("frames", frames);
+            causeArray.add(causeObject);
+        }
+        JSONObject json = new JSONObject();
+        json.put("time", time);
+        json.put("level", level);
+        json.put("caughtBy", caughtBy);
+        json.put("fingerprint", fingerprint);
+        json.put("causes", causeArray);
+        return json.toJSONString();
+    }
+
+    /**
+     * Get a one line description of the error, as used as keys by {@link FolderTimeStampErrorFileLogger#splitByError(List)}.
+     *
+     * @return "| MM-dd HH:mm:ss | caughtBy caught SimpleName"
+     */
+    public String getHeader() {
+        return "| " + TimeStampFormat.line().format(time) + " | " + caughtBy + " caught " + getErrorSimpleName();
+    }
+
+    /**
+     * Get the stack trace of the error and its causes, as printed by Throwable#printStackTrace.
+     *
+     * @return Lines of the stack trace.
+     */
+    public List<String> getStackTrace() {
+        List<String> trace = new ArrayList<>();
+        for (int i = 0; i < causes.size(); i++) {
+            Cause cause = causes.get(i);
+            if (i > 0) {
+                trace.add("Caused by:");
+            }
+            trace.add(cause.message != null ? cause.type + ": " + cause.message : cause.type);
+            for (String frame : cause.frames) {
+                trace.add("   " + frame);
+            }
+        }
+        return trace;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public String getCaughtBy() {
+        return caughtBy;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Get the full class name of the error.
+     *
+     * @return For example java.lang.IllegalStateException.
+     */
+    public String getErrorType() {
+        return causes.isEmpty() ? "" : causes.get(0).type;
+    }
+
+    /**
+     * Get the class names of the error and its causes.
+     *
+     * @return List starting with the error itself.
+     */
+    public List<String> getCauseTypes() {
+        List<String> types = new ArrayList<>();
+        for (Cause cause : causes) {
+            types.add(cause.type);
+        }
+        return Collections.unmodifiableList(types);
+    }
+
+    private String getErrorSimpleName() {
+        String type = getErrorType();
+        return type.substring(type.lastIndexOf('.') + 1);
+    }
+
+    private static class Cause {
+        private final String type;
+        private final String message;
+        private final List<String> frames;
+
+        private Cause(String type, String message, List<String> frames) {
+            this.type = type;
+            this.message = message;
+            this.frames = frames;
+        }
+    }
+}
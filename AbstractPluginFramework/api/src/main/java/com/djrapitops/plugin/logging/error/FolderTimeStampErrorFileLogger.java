@@ -28,13 +28,17 @@ import com.djrapitops.plugin.logging.L;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.Supplier;
 
 /**
  * {@link ErrorHandler} implementation that logs the errors to a per day file.
+ * <p>
+ * Each error is written as a single line of JSON, see {@link ErrorRecord}.
  *
  * @author AuroraLS3
  */
@@ -62,14 +66,31 @@ public class FolderTimeStampErrorFileLogger extends FolderTimeStampFileLogger im
 
     /**
      * Parse a list of lines from a file logged by this logger into a TreeMap of different errors.
+     * <p>
+     * Lines are parsed as {@link ErrorRecord}s, files written by older versions with one line per stack trace
+     * element are still supported.
      *
      * @param lines Lines read from a file logged by this logger.
      * @return TreeMap with first line - rest of the lines structure.
      */
     public static SortedMap<String, List<String>> splitByError(List<String> lines) {
-        if (lines.isEmpty()) {
-            return new TreeMap<>();
+        TreeMap<String, List<String>> errors = new TreeMap<>();
+        List<String> legacyLines = new ArrayList<>();
+        for (String line : lines) {
+            Optional<ErrorRecord> record = ErrorRecord.parse(line);
+            if (record.isPresent()) {
+                errors.put(record.get().getHeader(), record.get().getStackTrace());
+            } else {
+                legacyLines.add(line);
+            }
+        }
+        if (!legacyLines.isEmpty()) {
+            errors.putAll(splitLegacyErrors(legacyLines));
         }
+        return errors;
+    }
+
+    private static SortedMap<String, List<String>> splitLegacyErrors(List<String> lines) {
         String splittingLine = " caught ";
 
         TreeMap<String, List<String>> errors = new TreeMap<>();
@@ -88,30 +109,28 @@ public class FolderTimeStampErrorFileLogger extends FolderTimeStampFileLogger im
                 }
             }
         }
+        if (errorLines != null) {
+            errors.put(currentError, errorLines);
+        }
         return errors;
     }
 
-    @Override
-    public void log(L level, Class caughtBy, Throwable throwable) {
-        log(caughtBy.getName() + " caught " + throwable.getClass().getSimpleName());
-
-        List<String> stackTrace = getStackTrace(throwable);
-        for (String line : stackTrace) {
-            log(line);
+    /**
+     * Parse the {@link ErrorRecord}s from a list of lines from a file logged by this logger.
+     *
+     * @param lines Lines read from a file logged by this logger.
+     * @return Records in the order they were logged, lines written by older versions are skipped.
+     */
+    public static List<ErrorRecord> parseRecords(List<String> lines) {
+        List<ErrorRecord> records = new ArrayList<>();
+        for (String line : lines) {
+            ErrorRecord.parse(line).ifPresent(records::add);
         }
+        return records;
     }
 
-    private List<String> getStackTrace(Throwable e) {
-        List<String> trace = new ArrayList<>();
-        trace.add(e.toString());
-        for (StackTraceElement element : e.getStackTrace()) {
-            trace.add("   " + element);
-        }
-        Throwable cause = e.getCause();
-        if (cause != null) {
-            trace.add("Caused by:");
-            trace.addAll(getStackTrace(cause));
-        }
-        return trace;
+    @Override
+    public void log(L level, Class caughtBy, Throwable throwable) {
+        append(Collections.singletonList(ErrorRecord.of(level, caughtBy, throwable).toJson()));
     }
 }
@@ -0,0 +1,259 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.metrics;
+
+import com.djrapitops.plugin.IPlugin;
+import com.djrapitops.plugin.benchmarking.Benchmark;
+import com.djrapitops.plugin.benchmarking.Timings;
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.error.CombineErrorHandler;
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+import com.djrapitops.plugin.task.RunnableFactory;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports {@link Timings}, task and error metrics of an {@link IPlugin} in Prometheus text exposition format.
+ * <p>
+ * The metrics are served from an embedded HTTP server, which should be started in {@link IPlugin#onEnable()}:
+ * <pre>{@code
+ * exporter = new PrometheusExporter(this);
+ * exporter.start(9225);
+ * }</pre>
+ * and stopped in {@link IPlugin#onDisable()} with {@link #stop()}.
+ * <p>
+ * Metrics are written straight to the response stream on each scrape, nothing is cached between scrapes.
+ *
+ * @author AuroraLS3
+ */
+public class PrometheusExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final IPlugin plugin;
+    private final String prefix;
+
+    private HttpServer server;
+
+    /**
+     * Create a new PrometheusExporter with the default metric name prefix {@code apf}.
+     *
+     * @param plugin Plugin to export the metrics of.
+     */
+    public PrometheusExporter(IPlugin plugin) {
+        this(plugin, "apf");
+    }
+
+    /**
+     * Create a new PrometheusExporter.
+     *
+     * @param plugin Plugin to export the metrics of.
+     * @param prefix Prefix for metric names, for example {@code myplugin} produces {@code myplugin_errors_total}.
+     */
+    public PrometheusExporter(IPlugin plugin, String prefix) {
+        this.plugin = plugin;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Start serving the metrics on {@code /metrics} of the given port on all interfaces.
+     *
+     * @param port Port to bind to.
+     * @throws IOException If the port can not be bound.
+     */
+    public void start(int port) throws IOException {
+        start(new InetSocketAddress(port));
+    }
+
+    /**
+     * Start serving the metrics on {@code /metrics} of the given address.
+     *
+     * @param address Address to bind to.
+     * @throws IOException           If the address can not be bound.
+     * @throws IllegalStateException If the exporter is already running.
+     */
+    public synchronized void start(InetSocketAddress address) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Exporter is already running on " + server.getAddress());
+        }
+        server = HttpServer.create(address, 0);
+        server.createContext("/metrics", this::handle);
+        server.start();
+    }
+
+    /**
+     * Stop serving the metrics.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            // Length 0 uses chunked encoding so the response can be streamed.
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8))) {
+                write(writer);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Write the current metrics in Prometheus text exposition format.
+     *
+     * @param writer Writer to write to.
+     * @throws IOException If the writer throws.
+     */
+    public void write(Writer writer) throws IOException {
+        writeTimings(writer, plugin.getTimings());
+        writeTasks(writer, plugin.getRunnableFactory());
+        writeErrors(writer, plugin.getErrorHandler());
+    }
+
+    private void writeTimings(Writer writer, Timings timings) throws IOException {
+        if (timings == null) {
+            return;
+        }
+        Iterable<Benchmark> results = timings.getAverageResults();
+
+        writeHeader(writer, "timing_average_seconds", "gauge", "Rolling average duration of a Timings benchmark.");
+        for (Benchmark result : results) {
+            writeSample(writer, "timing_average_seconds", "name", result.getName(), result.getNs() / NANOS_PER_SECOND);
+        }
+        writeHeader(writer, "timing_average_memory_bytes", "gauge", "Rolling average free memory change during a Timings benchmark.");
+        for (Benchmark result : results) {
+            writeSample(writer, "timing_average_memory_bytes", "name", result.getName(), result.getUsedMemory());
+        }
+        writeHeader(writer, "timing_runs_total", "counter", "How many times a Timings benchmark has ended.");
+        for (Benchmark result : results) {
+            writeSample(writer, "timing_runs_total", "name", result.getName(), timings.getTimesRun(result.getName()));
+        }
+    }
+
+    private void writeTasks(Writer writer, RunnableFactory factory) throws IOException {
+        if (factory == null) {
+            return;
+        }
+        writeHeader(writer, "tasks_created_total", "counter", "Runnables created with the RunnableFactory.");
+        writeSample(writer, "tasks_created_total", null, null, factory.getTasksCreated());
+        writeHeader(writer, "task_executions_total", "counter", "Executions of runnables created with the RunnableFactory.");
+        writeSample(writer, "task_executions_total", null, null, factory.getTaskExecutions());
+        writeHeader(writer, "task_failures_total", "counter", "Executions that ended in an uncaught exception.");
+        writeSample(writer, "task_failures_total", null, null, factory.getTaskFailures());
+        writeHeader(writer, "tasks_running", "gauge", "Runnables executing at the moment.");
+        writeSample(writer, "tasks_running", null, null, factory.getTasksRunning());
+    }
+
+    private void writeErrors(Writer writer, ErrorHandler errorHandler) throws IOException {
+        if (!(errorHandler instanceof CombineErrorHandler)) {
+            return;
+        }
+        CombineErrorHandler combineErrorHandler = (CombineErrorHandler) errorHandler;
+        writeHeader(writer, "errors_total", "counter", "Errors given to the ErrorHandler.");
+        for (L level : L.values()) {
+            writeSample(writer, "errors_total", "level", level.name(), combineErrorHandler.getErrorCount(level));
+        }
+    }
+
+    private void writeHeader(Writer writer, String metric, String type, String help) throws IOException {
+        writer.write("# HELP ");
+        writer.write(prefix);
+        writer.write('_');
+        writer.write(metric);
+        writer.write(' ');
+        writer.write(help);
+        writer.write("\n# TYPE ");
+        writer.write(prefix);
+        writer.write('_');
+        writer.write(metric);
+        writer.write(' ');
+        writer.write(type);
+        writer.write('\n');
+    }
+
+    private void writeSample(Writer writer, String metric, String label, String labelValue, double value) throws IOException {
+        writeName(writer, metric, label, labelValue);
+        writer.write(Double.toString(value));
+        writer.write('\n');
+    }
+
+    private void writeSample(Writer writer, String metric, String label, String labelValue, long value) throws IOException {
+        writeName(writer, metric, label, labelValue);
+        writer.write(Long.toString(value));
+        writer.write('\n');
+    }
+
+    private void writeName(Writer writer, String metric, String label, String labelValue) throws IOException {
+        writer.write(prefix);
+        writer.write('_');
+        writer.write(metric);
+        if (label != null) {
+            writer.write('{');
+            writer.write(label);
+            writer.write("=\"");
+            writeEscaped(writer, labelValue);
+            writer.write("\"}");
+        }
+        writer.write(' ');
+    }
+
+    private void writeEscaped(Writer writer, String labelValue) throws IOException {
+        if (labelValue == null) {
+            return;
+        }
+        for (int i = 0; i < labelValue.length(); i++) {
+            char c = labelValue.charAt(i);
+            switch (c) {
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                default:
+                    writer.write(c);
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Things related to exporting framework metrics to external monitoring systems.
+ *
+ * @see com.djrapitops.plugin.metrics.PrometheusExporter
+ */
+package com.djrapitops.plugin.metrics;
@@ -25,6 +25,12 @@ package com.djrapitops.plugin.task;
 
 import com.djrapitops.plugin.IPlugin;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Factory for creating runnable objects that can be scheduled on any server platform.
  * <p>
@@ -34,6 +40,12 @@ import com.djrapitops.plugin.IPlugin;
  */
 public abstract class RunnableFactory {
 
+    private final AtomicLong tasksCreated = new AtomicLong();
+    private final AtomicLong taskExecutions = new AtomicLong();
+    private final AtomicLong taskFailures = new AtomicLong();
+    private final AtomicInteger tasksRunning = new AtomicInteger();
+    private final Map<Thread, String> runningThreads = new ConcurrentHashMap<>();
+
     /**
      * Create a new {@link PluginRunnable} that can be scheduled.
      *
@@ -43,6 +55,7 @@ public abstract class RunnableFactory {
      */
     public PluginRunnable create(String name, AbsRunnable runnable) {
         long time = System.currentTimeMillis();
+        tasksCreated.incrementAndGet();
         return createNewRunnable(name, runnable, time);
     }
 
@@ -64,4 +77,82 @@ public abstract class RunnableFactory {
     protected void setCancellable(AbsRunnable runnable, PluginRunnable implementingRunnable) {
         runnable.setCancellable(implementingRunnable);
     }
+
+    /**
+     * Run an {@link AbsRunnable} on the current thread on behalf of a platform specific runnable.
+     * <p>
+     * Platform implementations should call this in their run method so that task counters stay up to date.
+     *
+     * @param implementingRunnable Platform specific runnable that is executing.
+     * @param runnable             Abstract executable to run.
+     */
+    protected void execute(PluginRunnable implementingRunnable, AbsRunnable runnable) {
+        setCancellable(runnable, implementingRunnable);
+        taskExecutions.incrementAndGet();
+        tasksRunning.incrementAndGet();
+
+        Thread thread = Thread.currentThread();
+        String taskName = implementingRunnable.getTaskName();
+        String previousTask = runningThreads.put(thread, taskName != null ? taskName : "Unnamed task");
+        try {
+            runnable.run();
+        } catch (RuntimeException | Error e) {
+            taskFailures.incrementAndGet();
+            throw e;
+        } finally {
+            if (previousTask != null) {
+                runningThreads.put(thread, previousTask);
+            } else {
+                runningThreads.remove(thread);
+            }
+            tasksRunning.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the threads that are executing runnables of this factory at the moment.
+     *
+     * @return Live unmodifiable view: thread - name of the task it is executing.
+     */
+    public Map<Thread, String> getRunningTaskThreads() {
+        return Collections.unmodifiableMap(runningThreads);
+    }
+
+    /**
+     * Get how many runnables have been created with this factory.
+     *
+     * @return Total count since the factory was created.
+     */
+    public long getTasksCreated() {
+        return tasksCreated.get();
+    }
+
+    /**
+     * Get how many times runnables of this factory have been executed.
+     * <p>
+     * Timer tasks count once per execution.
+     *
+     * @return Total count since the factory was created.
+     */
+    public long getTaskExecutions() {
+        return taskExecutions.get();
+    }
+
+    /**
+     * Get how many executions ended in an uncaught exception.
+     *
+     * @return Total count since the factory was created.
+     */
+    public long getTaskFailures() {
+        return taskFailures.get();
+    }
+
+    /**
+     * Get how many runnables of this factory are executing at the moment.
+     *
+     * @return Number of currently executing runnables.
+     */
+    public int getTasksRunning() {
+        return tasksRunning.get();
+    }
 }
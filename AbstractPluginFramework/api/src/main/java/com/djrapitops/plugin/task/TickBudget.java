@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.task;
+
+import com.djrapitops.plugin.logging.debug.DebugLogger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Accounts how much of the server tick budget tasks running on the main thread use.
+ * <p>
+ * Platform runnables {@link #record(String, long)} execution time of sync runs, and the platform calls {@link #tick()}
+ * once every server tick to roll the recorded time up. A warning is logged on the {@link DebugLogger} when a task uses
+ * more than the configured share of a tick.
+ * <p>
+ * Recording and roll-up happen on the main thread, query methods can be called from any thread.
+ *
+ * @author AuroraLS3
+ */
+public class TickBudget {
+
+    /**
+     * Length of a server tick in nanoseconds.
+     */
+    public static final long TICK_NS = TimeUnit.MILLISECONDS.toNanos(50L);
+
+    private static final String DEBUG_CHANNEL = "Tick Budget";
+    private static final long WARNING_INTERVAL_TICKS = 20L;
+
+    private final Supplier<DebugLogger> debugLogger;
+
+    // Only touched on the main thread, entries are reused between ticks.
+    private final Map<String, long[]> currentTick;
+    private final Map<String, TickUsage> usages;
+    private volatile Map<String, Long> lastTick;
+
+    private volatile double warningShare;
+    private long tick;
+
+    /**
+     * Create a new TickBudget that warns about tasks using over 20% of a tick.
+     *
+     * @param debugLogger Supplier for the {@link DebugLogger} to log warnings on.
+     */
+    public TickBudget(Supplier<DebugLogger> debugLogger) {
+        this.debugLogger = debugLogger;
+        currentTick = new HashMap<>();
+        usages = new ConcurrentHashMap<>();
+        lastTick = Collections.emptyMap();
+        warningShare = 0.2;
+    }
+
+    /**
+     * Record execution time of a task that ran on the main thread during the current tick.
+     *
+     * @param taskName Name of the task.
+     * @param ns       Nanoseconds the execution took.
+     */
+    public void record(String taskName, long ns) {
+        currentTick.computeIfAbsent(taskName, name -> new long[1])[0] += ns;
+    }
+
+    /**
+     * Roll up the time recorded during the current tick and move on to the next tick.
+     * <p>
+     * Should be called once per tick on the main thread.
+     */
+    public void tick() {
+        tick++;
+        long warnAboveNs = (long) (TICK_NS * warningShare);
+        Map<String, Long> ranOnTick = null;
+        for (Map.Entry<String, long[]> entry : currentTick.entrySet()) {
+            long ns = entry.getValue()[0];
+            if (ns == 0L) {
+                continue;
+            }
+            entry.getValue()[0] = 0L;
+
+            String name = entry.getKey();
+            if (ranOnTick == null) {
+                ranOnTick = new HashMap<>();
+            }
+            ranOnTick.put(name, ns);
+
+            TickUsage usage = usages.computeIfAbsent(name, TickUsage::new);
+            usage.add(ns);
+            if (ns > warnAboveNs && tick - usage.lastWarnedTick >= WARNING_INTERVAL_TICKS) {
+                usage.lastWarnedTick = tick;
+                debugLogger.get().logOn(DEBUG_CHANNEL, "Task '" + name + "' used " + formatShare(ns) + " of a tick ("
+                        + TimeUnit.NANOSECONDS.toMicros(ns) + " us)");
+            }
+        }
+        lastTick = ranOnTick != null ? Collections.unmodifiableMap(ranOnTick) : Collections.emptyMap();
+    }
+
+    private String formatShare(long ns) {
+        return (ns * 100L / TICK_NS) + "%";
+    }
+
+    /**
+     * Change the share of a tick a task can use before a warning is logged.
+     *
+     * @param warningShare Share between 0 and 1, for example 0.2 warns about tasks taking over 10 ms.
+     * @throws IllegalArgumentException If the share is not positive.
+     */
+    public void setWarningShare(double warningShare) {
+        if (warningShare <= 0.0) {
+            throw new IllegalArgumentException("Warning share must be positive, was " + warningShare);
+        }
+        this.warningShare = warningShare;
+    }
+
+    /**
+     * Get the execution time of each task that ran during the previous tick.
+     *
+     * @return Map: task name - nanoseconds used during the tick.
+     */
+    public Map<String, Long> getLastTick() {
+        return lastTick;
+    }
+
+    /**
+     * Get the usage statistics of a task.
+     *
+     * @param taskName Name of the task.
+     * @return Optional of the statistics, empty if the task has not run on the main thread.
+     */
+    public Optional<TickUsage> getUsage(String taskName) {
+        return Optional.ofNullable(usages.get(taskName));
+    }
+
+    /**
+     * Get the usage statistics of all tasks that have run on the main thread.
+     *
+     * @return List of usages, highest total execution time first.
+     */
+    public List<TickUsage> getUsages() {
+        List<TickUsage> list = new ArrayList<>(usages.values());
+        list.sort(Comparator.comparingLong(TickUsage::getTotalNs).reversed());
+        return list;
+    }
+
+    /**
+     * Clear collected statistics.
+     */
+    public void reset() {
+        usages.clear();
+        lastTick = Collections.emptyMap();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.task;
+
+/**
+ * Statistics about how much of the tick budget a task has used.
+ * <p>
+ * To obtain TickUsage objects, use {@link TickBudget}.
+ *
+ * @author AuroraLS3
+ */
+public class TickUsage {
+
+    private final String taskName;
+
+    private volatile long ticks;
+    private volatile long totalNs;
+    private volatile long maxNs;
+
+    long lastWarnedTick = Long.MIN_VALUE / 2;
+
+    TickUsage(String taskName) {
+        this.taskName = taskName;
+    }
+
+    // Called only on the main thread.
+    void add(long ns) {
+        ticks++;
+        totalNs += ns;
+        if (ns > maxNs) {
+            maxNs = ns;
+        }
+    }
+
+    /**
+     * Get the name of the task.
+     *
+     * @return Name defined when the task was created.
+     */
+    public String getTaskName() {
+        return taskName;
+    }
+
+    /**
+     * Get how many ticks the task has run on.
+     *
+     * @return Tick count.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Get the total execution time of the task on the main thread.
+     *
+     * @return Nanoseconds.
+     */
+    public long getTotalNs() {
+        return totalNs;
+    }
+
+    /**
+     * Get the highest execution time of the task during a single tick.
+     *
+     * @return Nanoseconds.
+     */
+    public long getMaxNs() {
+        return maxNs;
+    }
+
+    /**
+     * Get the average execution time of the task during the ticks it ran on.
+     *
+     * @return Nanoseconds, 0 if the task has not run.
+     */
+    public long getAverageNs() {
+        long tickCount = ticks;
+        return tickCount != 0 ? totalNs / tickCount : 0L;
+    }
+
+    /**
+     * Get the average share of a tick the task used during the ticks it ran on.
+     *
+     * @return Share between 0 and 1, can be over 1 if the task runs longer than a tick.
+     */
+    public double getAverageShare() {
+        return getAverageNs() / (double) TickBudget.TICK_NS;
+    }
+
+    @Override
+    public String toString() {
+        return "TickUsage{" +
+                "taskName='" + taskName + '\'' +
+                ", ticks=" + ticks +
+                ", totalNs=" + totalNs +
+                ", maxNs=" + maxNs +
+                '}';
+    }
+}
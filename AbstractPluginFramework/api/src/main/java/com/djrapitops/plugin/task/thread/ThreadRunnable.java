@@ -38,11 +38,17 @@ public class ThreadRunnable implements PluginRunnable, Runnable {
     private final AbsRunnable runnable;
     private final long time;
     private Thread thread;
+    private final ThreadRunnableFactory factory;
 
     public ThreadRunnable(String name, AbsRunnable runnable, long time) {
+        this(name, runnable, time, null);
+    }
+
+    ThreadRunnable(String name, AbsRunnable runnable, long time, ThreadRunnableFactory factory) {
         this.name = name;
         this.runnable = runnable;
         this.time = time;
+        this.factory = factory;
     }
 
     @Override
@@ -100,7 +106,11 @@ public class ThreadRunnable implements PluginRunnable, Runnable {
 
     @Override
     public void run() {
-        runnable.run();
+        if (factory != null) {
+            factory.execute(this, runnable);
+        } else {
+            runnable.run();
+        }
     }
 
     @Override
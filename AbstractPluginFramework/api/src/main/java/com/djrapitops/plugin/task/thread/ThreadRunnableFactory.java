@@ -48,12 +48,18 @@ public class ThreadRunnableFactory extends RunnableFactory {
 
     @Override
     protected synchronized PluginRunnable createNewRunnable(String name, AbsRunnable runnable, long time) {
-        ThreadRunnable threadRunnable = new ThreadRunnable(name, runnable, time);
+        ThreadRunnable threadRunnable = new ThreadRunnable(name, runnable, time, this);
         setCancellable(runnable, threadRunnable);
         threadRunnables.add(threadRunnable);
         return threadRunnable;
     }
 
+    // Overridden to make the protected method accessible to ThreadRunnable in this package.
+    @Override
+    protected void execute(PluginRunnable implementingRunnable, AbsRunnable runnable) {
+        super.execute(implementingRunnable, runnable);
+    }
+
     @Override
     public void cancelAllKnownTasks() {
         threadRunnables.forEach(ThreadRunnable::cancel);
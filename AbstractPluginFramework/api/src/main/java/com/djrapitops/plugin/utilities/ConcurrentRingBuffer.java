@@ -0,0 +1,282 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Fixed capacity ring buffer that many threads can add to without locking.
+ * <p>
+ * Each added element gets a sequence number, and when the buffer is full the element with the oldest sequence
+ * number is overwritten. Reading does not block writers. {@link #snapshot()}, {@link #forEach(Consumer)} and
+ * {@link #drainTo(Collection)} include every element added before the call that has not been overwritten,
+ * so the sequence numbers make them consistent with the order of the adds.
+ *
+ * @param <E> Type of the elements in this buffer.
+ * @author AuroraLS3
+ */
+public class ConcurrentRingBuffer<E> {
+
+    private final int capacity;
+    private final AtomicReferenceArray<Slot<E>> slots;
+    private final AtomicLong cursor;
+    private final AtomicLong clearedBefore;
+
+    /**
+     * Create a new ConcurrentRingBuffer.
+     *
+     * @param capacity Maximum number of elements kept in the buffer.
+     * @throws IllegalArgumentException If capacity is less than 1.
+     */
+    public ConcurrentRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, was " + capacity);
+        }
+        this.capacity = capacity;
+        slots = new AtomicReferenceArray<>(capacity);
+        cursor = new AtomicLong();
+        clearedBefore = new AtomicLong();
+    }
+
+    /**
+     * Add an element to the buffer, overwriting the oldest element if the buffer is full.
+     *
+     * @param element Element to add.
+     */
+    public void add(E element) {
+        long sequence = cursor.getAndIncrement();
+        int index = (int) (sequence % capacity);
+        Slot<E> added = new Slot<>(sequence, element);
+        while (true) {
+            Slot<E> current = slots.get(index);
+            if (current != null && current.sequence > sequence) {
+                // A writer that came later already lapped this slot, the element is older than what is kept.
+                return;
+            }
+            if (slots.compareAndSet(index, current, added)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove all elements from the buffer.
+     * <p>
+     * Elements added concurrently with the call may or may not be removed.
+     */
+    public void clear() {
+        clearedBefore.accumulateAndGet(cursor.get(), Math::max);
+    }
+
+    /**
+     * Move the elements in the buffer to a collection, oldest first.
+     * <p>
+     * Each element is drained only once, even if many threads drain at the same time.
+     * Elements overwritten while draining are left out.
+     *
+     * @param target Collection to add the elements to.
+     * @return How many elements were added to the collection.
+     */
+    public int drainTo(Collection<? super E> target) {
+        long start;
+        long end;
+        do {
+            start = clearedBefore.get();
+            end = cursor.get();
+            if (end <= start) {
+                return 0;
+            }
+        } while (!clearedBefore.compareAndSet(start, end));
+
+        int drained = 0;
+        for (long sequence = Math.max(start, end - capacity); sequence < end; sequence++) {
+            E element = awaitWritten(sequence);
+            if (element != null) {
+                target.add(element);
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Call an action for each element in the buffer, oldest first, without copying them.
+     *
+     * @param action Action to call.
+     */
+    public void forEach(Consumer<? super E> action) {
+        long end = cursor.get();
+        for (long sequence = getOldestSequence(); sequence < end; sequence++) {
+            E element = awaitWritten(sequence);
+            if (element != null) {
+                action.accept(element);
+            }
+        }
+    }
+
+    /**
+     * Get the elements in the buffer, oldest first.
+     *
+     * @return Unmodifiable list of the elements at the time of the call.
+     */
+    public List<E> snapshot() {
+        long end = cursor.get();
+        long start = getOldestSequence();
+        if (end <= start) {
+            return Collections.emptyList();
+        }
+        List<E> elements = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            E element = awaitWritten(sequence);
+            if (element != null) {
+                elements.add(element);
+            }
+        }
+        return Collections.unmodifiableList(elements);
+    }
+
+    /**
+     * Stream the elements in the buffer, oldest first, without copying them.
+     * <p>
+     * Elements are read as the stream is consumed, so elements overwritten before that are left out.
+     *
+     * @return Stream of elements added before the call.
+     */
+    public Stream<E> stream() {
+        return stream(getOldestSequence(), cursor.get());
+    }
+
+    /**
+     * Stream elements of a range of sequence numbers, oldest first, without copying them.
+     *
+     * @param fromSequence First sequence number, inclusive.
+     * @param toSequence   Last sequence number, exclusive.
+     * @return Stream of the elements that are still in the buffer as the stream is consumed.
+     */
+    public Stream<E> stream(long fromSequence, long toSequence) {
+        return LongStream.range(fromSequence, toSequence)
+                .mapToObj(this::getWritten)
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Get an element by its sequence number, waiting for a write of the sequence that is still in progress.
+     *
+     * @param sequence Sequence number of the element, 0 for the first added element.
+     * @return The element, or null if it has been overwritten, cleared or is not yet added.
+     */
+    public E getWritten(long sequence) {
+        if (sequence < clearedBefore.get() || sequence < 0 || sequence >= cursor.get()) {
+            return null;
+        }
+        return awaitWritten(sequence);
+    }
+
+    /**
+     * Get an element by its sequence number.
+     *
+     * @param sequence Sequence number of the element, 0 for the first added element.
+     * @return The element, or null if it has been overwritten, cleared or is not yet added.
+     */
+    public E get(long sequence) {
+        if (sequence < clearedBefore.get() || sequence < 0) {
+            return null;
+        }
+        return read(sequence);
+    }
+
+    private E awaitWritten(long sequence) {
+        int index = (int) (sequence % capacity);
+        while (true) {
+            Slot<E> slot = slots.get(index);
+            if (slot != null && slot.sequence >= sequence) {
+                // A newer sequence means the element was overwritten.
+                return slot.sequence == sequence ? slot.element : null;
+            }
+            // The sequence was taken by a writer that has not stored the element yet.
+            Thread.yield();
+        }
+    }
+
+    private E read(long sequence) {
+        Slot<E> slot = slots.get((int) (sequence % capacity));
+        return slot != null && slot.sequence == sequence ? slot.element : null;
+    }
+
+    /**
+     * Get sequence number of the oldest element that can still be in the buffer.
+     *
+     * @return Sequence number, equal to {@link #getAddedCount()} if the buffer is empty.
+     */
+    public long getOldestSequence() {
+        return Math.max(clearedBefore.get(), cursor.get() - capacity);
+    }
+
+    /**
+     * Get amount of elements in the buffer.
+     *
+     * @return Element count, at most the capacity.
+     */
+    public int size() {
+        long oldest = getOldestSequence();
+        return (int) Math.max(0L, Math.min(capacity, cursor.get() - oldest));
+    }
+
+    /**
+     * Get how many elements have been added to the buffer in total.
+     *
+     * @return Count of added elements, including the overwritten ones.
+     */
+    public long getAddedCount() {
+        return cursor.get();
+    }
+
+    /**
+     * Get the maximum number of elements kept in the buffer.
+     *
+     * @return Capacity given in the constructor.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private static class Slot<E> {
+        private final long sequence;
+        private final E element;
+
+        private Slot(long sequence, E element) {
+            this.sequence = sequence;
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.utilities;
+
+import java.util.OptionalDouble;
+
+/**
+ * Rolling window of the latest double values that removes the oldest value after max size is reached.
+ * <p>
+ * Unlike {@code EjectingQueue<Double>} the values are not boxed, and sum, mean, minimum, maximum and variance
+ * are kept up to date as values are added and removed, so reading them does not go through the values.
+ * Minimum and maximum use monotonic queues, mean and variance use Welford's method.
+ *
+ * @author AuroraLS3
+ */
+public class DoubleEjectingQueue {
+
+    private final double[] values;
+    private final SequenceDeque minimums;
+    private final SequenceDeque maximums;
+
+    private long added;
+    private int size;
+    private double sum;
+    private double mean;
+    private double squaredDistances;
+
+    /**
+     * Create a new DoubleEjectingQueue.
+     *
+     * @param maxSize Maximum amount of values in the window.
+     * @throws IllegalArgumentException If maxSize is less than 1.
+     */
+    public DoubleEjectingQueue(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be at least 1, was " + maxSize);
+        }
+        values = new double[maxSize];
+        minimums = new SequenceDeque(maxSize);
+        maximums = new SequenceDeque(maxSize);
+    }
+
+    /**
+     * Add a value, removing the oldest value if the window is full.
+     *
+     * @param value Value to add.
+     */
+    public synchronized void add(double value) {
+        long sequence = added++;
+        int index = (int) (sequence % values.length);
+        if (size == values.length) {
+            double removed = values[index];
+            long evicted = sequence - values.length;
+            if (minimums.peekFirst() == evicted) {
+                minimums.removeFirst();
+            }
+            if (maximums.peekFirst() == evicted) {
+                maximums.removeFirst();
+            }
+            sum += value - removed;
+            double previousMean = mean;
+            mean += (value - removed) / size;
+            squaredDistances += (value - removed) * (value - mean + removed - previousMean);
+        } else {
+            size++;
+            sum += value;
+            double delta = value - mean;
+            mean += delta / size;
+            squaredDistances += delta * (value - mean);
+        }
+        values[index] = value;
+
+        while (!minimums.isEmpty() && valueOf(minimums.peekLast()) >= value) {
+            minimums.removeLast();
+        }
+        minimums.addLast(sequence);
+        while (!maximums.isEmpty() && valueOf(maximums.peekLast()) <= value) {
+            maximums.removeLast();
+        }
+        maximums.addLast(sequence);
+    }
+
+    private double valueOf(long sequence) {
+        return values[(int) (sequence % values.length)];
+    }
+
+    /**
+     * Remove all values.
+     */
+    public synchronized void clear() {
+        added = 0L;
+        size = 0;
+        sum = 0.0;
+        mean = 0.0;
+        squaredDistances = 0.0;
+        minimums.clear();
+        maximums.clear();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return values.length;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the latest added value.
+     *
+     * @return Latest value, or empty if there are no values.
+     */
+    public synchronized OptionalDouble getLatest() {
+        return size == 0 ? OptionalDouble.empty() : OptionalDouble.of(valueOf(added - 1));
+    }
+
+    public synchronized double getSum() {
+        return sum;
+    }
+
+    /**
+     * Get the mean of the values.
+     *
+     * @return Mean, 0 if there are no values.
+     */
+    public synchronized double getMean() {
+        return mean;
+    }
+
+    public synchronized OptionalDouble getMin() {
+        return size == 0 ? OptionalDouble.empty() : OptionalDouble.of(valueOf(minimums.peekFirst()));
+    }
+
+    public synchronized OptionalDouble getMax() {
+        return size == 0 ? OptionalDouble.empty() : OptionalDouble.of(valueOf(maximums.peekFirst()));
+    }
+
+    /**
+     * Get the population variance of the values.
+     *
+     * @return Variance, 0 if there are no values.
+     */
+    public synchronized double getVariance() {
+        return size == 0 ? 0.0 : Math.max(0.0, squaredDistances / size);
+    }
+
+    /**
+     * Get the population standard deviation of the values.
+     *
+     * @return Standard deviation, 0 if there are no values.
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Copy the values, oldest first.
+     *
+     * @return New array of the values.
+     */
+    public synchronized double[] toArray() {
+        double[] copy = new double[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = valueOf(added - size + i);
+        }
+        return copy;
+    }
+}
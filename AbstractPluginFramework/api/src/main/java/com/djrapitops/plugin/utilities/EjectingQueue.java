@@ -25,29 +25,29 @@ package com.djrapitops.plugin.utilities;
 
 import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Utility queue that removes first element in the queue after max size is reached.
+ * <p>
+ * Backed by a {@link ConcurrentRingBuffer}, so many threads can add elements without locking and reading
+ * the elements does not block adding.
  *
  * @param <E> Type of the elements in this Queue.
  * @author AuroraLS3
  */
 public class EjectingQueue<E> {
 
-    private final int maxSize;
-    private final ArrayDeque<E> queue;
-    private volatile int size;
+    private final ConcurrentRingBuffer<E> buffer;
 
     /**
      * Create a new EjectingQueue.
      *
-     * @param maxSize Maximum size of elements in this queue.
+     * @param maxSize Maximum size of elements in this queue, at least 1 element is kept.
      */
     public EjectingQueue(int maxSize) {
-        this.maxSize = maxSize;
-        queue = new ArrayDeque<>(maxSize);
-        size = 0;
+        buffer = new ConcurrentRingBuffer<>(Math.max(1, maxSize));
     }
 
     /**
@@ -57,21 +57,15 @@ public class EjectingQueue<E> {
      *
      * @param element Element to add.
      */
-    public synchronized void add(E element) {
-        if (size >= maxSize) {
-            queue.poll();
-            size--;
-        }
-        queue.add(element);
-        size++;
+    public void add(E element) {
+        buffer.add(element);
     }
 
     /**
      * Clear the queue.
      */
     public void clear() {
-        queue.clear();
-        size = 0;
+        buffer.clear();
     }
 
     /**
@@ -80,6 +74,34 @@ public class EjectingQueue<E> {
      * @return Immutable list of the elements in this queue.
      */
     public ImmutableList<E> getElements() {
-        return ImmutableList.copyOf(queue);
+        return ImmutableList.copyOf(buffer.snapshot());
     }
-}
\ No newline at end of file
+
+    /**
+     * Call an action for each element in this queue, oldest first, without copying the queue.
+     *
+     * @param action Action to call.
+     */
+    public void forEach(Consumer<? super E> action) {
+        buffer.forEach(action);
+    }
+
+    /**
+     * Move the elements of this queue to a collection, oldest first.
+     *
+     * @param target Collection to add the elements to.
+     * @return How many elements were moved.
+     */
+    public int drainTo(Collection<? super E> target) {
+        return buffer.drainTo(target);
+    }
+
+    /**
+     * Get amount of elements in this queue.
+     *
+     * @return Element count, at most the max size.
+     */
+    public int size() {
+        return buffer.size();
+    }
+}
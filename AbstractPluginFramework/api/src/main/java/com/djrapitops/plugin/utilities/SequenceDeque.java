@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.utilities;
+
+/**
+ * Fixed capacity double ended queue of sequence numbers, used for sliding window minimum and maximum.
+ * <p>
+ * Not thread safe, the users synchronize.
+ *
+ * @author AuroraLS3
+ */
+class SequenceDeque {
+
+    private final long[] sequences;
+    private int head;
+    private int size;
+
+    SequenceDeque(int capacity) {
+        sequences = new long[capacity];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long peekFirst() {
+        return sequences[head];
+    }
+
+    long peekLast() {
+        return sequences[(head + size - 1) % sequences.length];
+    }
+
+    void removeFirst() {
+        head = (head + 1) % sequences.length;
+        size--;
+    }
+
+    void removeLast() {
+        size--;
+    }
+
+    void addLast(long sequence) {
+        sequences[(head + size) % sequences.length] = sequence;
+        size++;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+}
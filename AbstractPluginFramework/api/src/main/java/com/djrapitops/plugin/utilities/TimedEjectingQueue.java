@@ -0,0 +1,194 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.utilities;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Utility queue that removes elements older than a max age, and the first element after max size is reached.
+ * <p>
+ * Ages are measured with {@link System#nanoTime()}, so changes to the system clock do not affect eviction.
+ * Old elements are removed when elements are added or read, without a background task.
+ * The max size keeps the memory bounded when many elements are added within the max age.
+ *
+ * @param <E> Type of the elements in this Queue.
+ * @author AuroraLS3
+ */
+public class TimedEjectingQueue<E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long maxAgeNanos;
+    private final int maxSize;
+    private final LongSupplier nanoClock;
+
+    private Object[] elements;
+    private long[] addedAt;
+    private int head;
+    private int size;
+
+    /**
+     * Create a new TimedEjectingQueue.
+     *
+     * @param maxAge  Maximum age of elements in this queue.
+     * @param unit    Unit of maxAge.
+     * @param maxSize Maximum size of elements in this queue.
+     * @throws IllegalArgumentException If maxAge or maxSize is less than 1.
+     */
+    public TimedEjectingQueue(long maxAge, TimeUnit unit, int maxSize) {
+        this(maxAge, unit, maxSize, System::nanoTime);
+    }
+
+    TimedEjectingQueue(long maxAge, TimeUnit unit, int maxSize, LongSupplier nanoClock) {
+        if (maxAge < 1) {
+            throw new IllegalArgumentException("Max age must be at least 1, was " + maxAge);
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be at least 1, was " + maxSize);
+        }
+        this.maxAgeNanos = unit.toNanos(maxAge);
+        this.maxSize = maxSize;
+        this.nanoClock = nanoClock;
+        int capacity = Math.min(maxSize, INITIAL_CAPACITY);
+        elements = new Object[capacity];
+        addedAt = new long[capacity];
+    }
+
+    /**
+     * Add an element to the queue.
+     * <p>
+     * Elements older than max age are removed, and the head of the queue is removed if the size is over max size.
+     *
+     * @param element Element to add.
+     */
+    public synchronized void add(E element) {
+        long now = nanoClock.getAsLong();
+        evictOlderThan(now);
+        if (size == maxSize) {
+            removeFirst();
+        } else if (size == elements.length) {
+            grow();
+        }
+        int index = (head + size) % elements.length;
+        elements[index] = element;
+        addedAt[index] = now;
+        size++;
+    }
+
+    private void evictOlderThan(long now) {
+        // Compared as a difference, because nanoTime values can overflow.
+        while (size > 0 && now - addedAt[head] > maxAgeNanos) {
+            removeFirst();
+        }
+    }
+
+    private void removeFirst() {
+        elements[head] = null;
+        head = (head + 1) % elements.length;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(maxSize, elements.length * 2L);
+        Object[] grownElements = new Object[capacity];
+        long[] grownAddedAt = new long[capacity];
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % elements.length;
+            grownElements[i] = elements[index];
+            grownAddedAt[i] = addedAt[index];
+        }
+        elements = grownElements;
+        addedAt = grownAddedAt;
+        head = 0;
+    }
+
+    /**
+     * Clear the queue.
+     */
+    public synchronized void clear() {
+        Arrays.fill(elements, null);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Get amount of elements that are not older than max age.
+     *
+     * @return Element count, at most max size.
+     */
+    public synchronized int size() {
+        evictOlderThan(nanoClock.getAsLong());
+        return size;
+    }
+
+    /**
+     * Get the elements in this Queue that are not older than max age.
+     *
+     * @return Immutable list of the elements, oldest first.
+     */
+    public synchronized ImmutableList<E> getElements() {
+        evictOlderThan(nanoClock.getAsLong());
+        ImmutableList.Builder<E> builder = ImmutableList.builder();
+        forEachElement(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Call an action for each element that is not older than max age, oldest first, without copying the queue.
+     * <p>
+     * The queue is locked during the iteration, so the action should not block.
+     *
+     * @param action Action to call.
+     */
+    public synchronized void forEach(Consumer<? super E> action) {
+        evictOlderThan(nanoClock.getAsLong());
+        forEachElement(action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forEachElement(Consumer<? super E> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((E) elements[(head + i) % elements.length]);
+        }
+    }
+
+    /**
+     * Get the maximum age of elements.
+     *
+     * @param unit Unit to get the age in.
+     * @return Max age given in the constructor.
+     */
+    public long getMaxAge(TimeUnit unit) {
+        return unit.convert(maxAgeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link GarbageCollectionMonitor}.
+ *
+ * @author AuroraLS3
+ */
+public class GarbageCollectionMonitorTest {
+
+    private static final String YOUNG = "G1 Young Generation";
+    private static final String CONCURRENT = "G1 Concurrent GC";
+
+    private PluginLogger logger;
+    private GarbageCollectionMonitor underTest;
+
+    @Before
+    public void setUp() {
+        logger = Mockito.mock(PluginLogger.class);
+        underTest = new GarbageCollectionMonitor(logger);
+    }
+
+    @Test
+    public void pausesAreCounted() {
+        underTest.onGarbageCollection(YOUNG, "G1 Evacuation Pause", 10L, 1000L);
+        underTest.onGarbageCollection(YOUNG, "G1 Evacuation Pause", 30L, 3000L);
+
+        assertEquals(2L, underTest.getPauseCount(YOUNG));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(40L), underTest.getTotalPauseNs(YOUNG));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(30L), underTest.getMaxPauseNs(YOUNG));
+    }
+
+    @Test
+    public void pauseResultsAreRollingAverages() {
+        underTest.onGarbageCollection(YOUNG, "G1 Evacuation Pause", 10L, 1000L);
+        underTest.onGarbageCollection(YOUNG, "G1 Evacuation Pause", 30L, 3000L);
+
+        List<Benchmark> results = underTest.getPauseResults();
+        assertEquals(1, results.size());
+        Benchmark result = results.get(0);
+        assertEquals("GC: " + YOUNG, result.getName());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20L), result.getNs());
+        assertEquals(-2000L, result.getUsedMemory());
+    }
+
+    @Test
+    public void rollingAverageOnlyIncludesLatestPauses() {
+        PauseStatistics statistics = new PauseStatistics("GC: " + YOUNG, 2);
+        statistics.add(100L, 0L);
+        statistics.add(10L, 0L);
+        statistics.add(30L, 0L);
+
+        assertEquals(20L, statistics.toRollingAverage().getNs());
+        assertEquals(3L, statistics.getCount());
+        assertEquals(140L, statistics.getTotalNs());
+        assertEquals(100L, statistics.getMaxNs());
+    }
+
+    @Test
+    public void concurrentCyclesAreNotPauses() {
+        underTest.setPauseWarning(1L, TimeUnit.MILLISECONDS);
+        underTest.onGarbageCollection(CONCURRENT, "G1 Periodic Collection", 5000L, 0L);
+
+        assertEquals(0L, underTest.getPauseCount(CONCURRENT));
+        verify(logger, never()).warn(any(String.class));
+        List<Benchmark> results = underTest.getPauseResults();
+        assertEquals(1, results.size());
+        assertEquals("GC cycle: " + CONCURRENT, results.get(0).getName());
+    }
+
+    @Test
+    public void longPauseWarningIsThrottled() {
+        underTest.setPauseWarning(100L, TimeUnit.MILLISECONDS);
+        underTest.onGarbageCollection(YOUNG, "G1 Evacuation Pause", 50L, 0L);
+        verify(logger, never()).warn(any(String.class));
+
+        underTest.onGarbageCollection(YOUNG, "G1 Evacuation Pause", 500L, 0L);
+        underTest.onGarbageCollection(YOUNG, "G1 Evacuation Pause", 500L, 0L);
+        verify(logger, times(1)).warn(any(String.class));
+    }
+
+    @Test
+    public void startClearsPreviousStatistics() {
+        String collector = "Test Collector";
+        underTest.onGarbageCollection(collector, "Test", 10L, 0L);
+        underTest.start();
+        try {
+            assertEquals(0L, underTest.getPauseCount(collector));
+        } finally {
+            underTest.stop();
+        }
+    }
+}
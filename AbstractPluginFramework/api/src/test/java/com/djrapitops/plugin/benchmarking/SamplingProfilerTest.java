@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import com.djrapitops.plugin.task.AbsRunnable;
+import com.djrapitops.plugin.task.thread.ThreadRunnableFactory;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link SamplingProfiler}.
+ *
+ * @author AuroraLS3
+ */
+public class SamplingProfilerTest {
+
+    @Test
+    public void runningTaskThreadsAreSampled() throws IOException {
+        ThreadRunnableFactory factory = new ThreadRunnableFactory();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        factory.create("Profiled task", new AbsRunnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).runTaskAsynchronously();
+
+        try {
+            await().atMost(5, TimeUnit.SECONDS).until(() -> started.getCount() == 0
+                    && !factory.getRunningTaskThreads().isEmpty());
+
+            SamplingProfiler underTest = new SamplingProfiler(factory);
+            underTest.sample(new StringBuilder());
+            underTest.sample(new StringBuilder());
+
+            assertEquals(2L, underTest.getSampleCount());
+            Map<String, Long> stacks = underTest.getFoldedStacks();
+            assertEquals(stacks.toString(), 1, stacks.size());
+            String stack = stacks.keySet().iterator().next();
+            assertTrue(stack, stack.startsWith("Profiled_task;"));
+            assertTrue(stack, stack.contains("SamplingProfilerTest$1.run"));
+
+            StringWriter writer = new StringWriter();
+            underTest.writeFoldedStacks(writer);
+            assertTrue(writer.toString(), writer.toString().endsWith(" 2\n"));
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import com.djrapitops.plugin.logging.debug.DebugLogger;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link SlowOperationWatchdog}.
+ *
+ * @author AuroraLS3
+ */
+public class SlowOperationWatchdogTest {
+
+    private DebugLogger debugLogger;
+    private Timings timings;
+    private SlowOperationWatchdog underTest;
+
+    @Before
+    public void setUp() {
+        debugLogger = Mockito.mock(DebugLogger.class);
+        timings = new Timings(debugLogger);
+        underTest = new SlowOperationWatchdog(timings, debugLogger, "Slow");
+        underTest.setSampling(2, 0L);
+    }
+
+    @Test
+    public void slowOperationIsReportedOnceWithSamples() throws InterruptedException {
+        underTest.setThreshold("Slow op", 0L, TimeUnit.NANOSECONDS);
+        timings.start("Slow op");
+        Thread.sleep(1L);
+
+        underTest.check();
+        underTest.check();
+
+        ArgumentCaptor<String> lines = ArgumentCaptor.forClass(String.class);
+        verify(debugLogger, times(1)).logOn(eq("Slow"), lines.capture());
+        String report = lines.getAllValues().toString();
+        assertTrue(report, report.contains("'Slow op' on thread '" + Thread.currentThread().getName() + "'"));
+        assertTrue(report, report.contains("Sample 1/2"));
+        assertTrue(report, report.contains("SlowOperationWatchdogTest"));
+    }
+
+    @Test
+    public void operationUnderThresholdIsNotReported() throws InterruptedException {
+        underTest.setDefaultThreshold(1L, TimeUnit.HOURS);
+        timings.start("Fast op");
+
+        underTest.check();
+
+        verify(debugLogger, never()).logOn(any(), any(String[].class));
+    }
+}
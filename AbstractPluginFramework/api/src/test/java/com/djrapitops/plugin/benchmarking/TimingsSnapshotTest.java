@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link TimingsSnapshot}.
+ *
+ * @author AuroraLS3
+ */
+public class TimingsSnapshotTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TimingsSnapshot snapshotOf(TimingSummary... summaries) {
+        return new TimingsSnapshot(1000L, Arrays.asList(summaries));
+    }
+
+    @Test
+    public void percentilesUseNearestRank() {
+        long[] sorted = new long[100];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i + 1L;
+        }
+        TimingSummary summary = TimingSummary.fromDurations("Test", 100L, 50L, sorted);
+        assertEquals(50L, summary.getP50Ns());
+        assertEquals(95L, summary.getP95Ns());
+        assertEquals(99L, summary.getP99Ns());
+    }
+
+    @Test
+    public void savedSnapshotLoadsEqual() throws IOException {
+        TimingsSnapshot snapshot = snapshotOf(
+                new TimingSummary("Name\twith tab", 10L, 100L, 90L, 150L, 200L),
+                new TimingSummary("Other", 1L, 5L, 5L, 5L, 5L)
+        );
+        File file = new File(temporaryFolder.getRoot(), "baseline.snapshot");
+        snapshot.save(file);
+
+        TimingsSnapshot loaded = TimingsSnapshot.load(file);
+        assertEquals(1000L, loaded.getCreated());
+        assertEquals(snapshot.getSummaries().toString(), loaded.getSummaries().toString());
+    }
+
+    @Test(expected = IOException.class)
+    public void nonSnapshotFileIsRejected() throws IOException {
+        File file = temporaryFolder.newFile("other.txt");
+        TimingsSnapshot.load(file);
+    }
+
+    @Test
+    public void regressionsOverToleranceAreFound() {
+        TimingsSnapshot baseline = snapshotOf(
+                new TimingSummary("Slower", 10L, 100L, 100L, 100L, 100L),
+                new TimingSummary("Same", 10L, 100L, 100L, 100L, 100L),
+                new TimingSummary("Removed", 10L, 100L, 100L, 100L, 100L)
+        );
+        TimingsSnapshot current = snapshotOf(
+                new TimingSummary("Slower", 10L, 150L, 150L, 150L, 150L),
+                new TimingSummary("Same", 10L, 110L, 110L, 110L, 110L),
+                new TimingSummary("New", 10L, 100L, 100L, 100L, 100L)
+        );
+
+        List<TimingRegression> regressions = current.findRegressions(baseline, 0.2);
+        assertEquals(1, regressions.size());
+        TimingRegression regression = regressions.get(0);
+        assertEquals("Slower", regression.getName());
+        assertEquals(0.5, regression.getMeanChange(), 0.0001);
+        assertTrue(regression.toString(), regression.toString().contains("(+50%)"));
+    }
+
+    @Test
+    public void namesThatDifferByCaseAreKeptApart() {
+        TimingsSnapshot baseline = snapshotOf(
+                new TimingSummary("Save", 10L, 100L, 100L, 100L, 100L),
+                new TimingSummary("save", 10L, 1000L, 1000L, 1000L, 1000L)
+        );
+        TimingsSnapshot current = snapshotOf(
+                new TimingSummary("Save", 10L, 150L, 150L, 150L, 150L),
+                new TimingSummary("save", 10L, 1000L, 1000L, 1000L, 1000L)
+        );
+
+        assertEquals(2, current.getSummaries().size());
+        assertEquals(150L, current.getSummary("Save").map(TimingSummary::getMeanNs).orElse(0L).longValue());
+        assertEquals(1000L, current.getSummary("save").map(TimingSummary::getMeanNs).orElse(0L).longValue());
+        List<TimingRegression> regressions = current.findRegressions(baseline, 0.2);
+        assertEquals(1, regressions.size());
+        assertEquals("Save", regressions.get(0).getName());
+    }
+
+    @Test
+    public void timingsSnapshotContainsEndedBenchmarks() {
+        Timings timings = new Timings(null);
+        timings.start("Bench");
+        timings.end("Bench");
+
+        TimingsSnapshot snapshot = timings.snapshot();
+        TimingSummary summary = snapshot.getSummary("Bench").orElseThrow(AssertionError::new);
+        assertEquals(1L, summary.getCount());
+        assertEquals(summary.getMeanNs(), summary.getP99Ns());
+        assertEquals(1, snapshot.getSummaries().size());
+    }
+}
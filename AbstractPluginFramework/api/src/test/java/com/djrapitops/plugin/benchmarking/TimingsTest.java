@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.benchmarking;
+
+import com.djrapitops.plugin.logging.debug.DebugLogger;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link Timings}.
+ *
+ * @author AuroraLS3
+ */
+public class TimingsTest {
+
+    private Timings timings;
+
+    @Before
+    public void setUp() {
+        timings = new Timings(mock(DebugLogger.class));
+    }
+
+    @Test
+    public void namesAreInternedToDenseIds() {
+        int first = timings.getId("First");
+        int second = timings.getId("Second");
+
+        assertEquals(0, first);
+        assertEquals(1, second);
+        assertEquals(first, timings.getId("First"));
+    }
+
+    @Test
+    public void idAndNameAccessShareResults() {
+        int id = timings.getId("Test");
+        timings.start(id);
+        assertTrue(timings.end("Test").isPresent());
+        timings.start("Test");
+        assertTrue(timings.end(id).isPresent());
+
+        assertEquals(2L, timings.getTimesRun("Test"));
+    }
+
+    @Test
+    public void endingTwiceGivesNoSecondResult() {
+        timings.start("Test");
+        assertTrue(timings.end("Test").isPresent());
+        assertFalse(timings.end("Test").isPresent());
+        assertTrue(timings.getRunning().isEmpty());
+    }
+
+    @Test
+    public void idsStayValidAfterReset() {
+        int id = timings.getId("Test");
+        timings.start(id);
+        timings.end(id);
+        timings.reset();
+
+        assertEquals(0L, timings.getTimesRun("Test"));
+        assertTrue(timings.getAverageResults().isEmpty());
+        timings.start(id);
+        assertTrue(timings.end(id).isPresent());
+        assertEquals(1L, timings.getTimesRun("Test"));
+    }
+
+    @Test
+    public void registryGrowsPastInitialCapacity() {
+        for (int i = 0; i < 100; i++) {
+            int id = timings.getId("Bench " + i);
+            timings.start(id);
+            timings.end(id);
+        }
+        assertEquals(100, timings.getAverageResults().size());
+        assertEquals(99, timings.getId("Bench 99"));
+    }
+
+    @Test
+    public void averageResultsAreSortedIgnoringCase() {
+        for (String name : new String[]{"beta", "Alpha", "gamma"}) {
+            timings.start(name);
+            timings.end(name);
+        }
+        List<Benchmark> results = timings.getAverageResults();
+        assertEquals("Alpha", results.get(0).getName());
+        assertEquals("beta", results.get(1).getName());
+        assertEquals("gamma", results.get(2).getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownIdIsRejected() {
+        timings.start(5);
+    }
+
+    @Test
+    public void namesUsedOnlyByNameAreReleasedOnReset() {
+        int kept = timings.getId("Kept");
+        timings.start("Dynamic");
+        timings.end("Dynamic");
+        timings.reset();
+
+        timings.start("Other");
+        timings.end("Other");
+        assertEquals(1, timings.getId("Other"));
+        assertEquals(0L, timings.getTimesRun("Dynamic"));
+        assertEquals(1L, timings.getTimesRun("Other"));
+        timings.start(kept);
+        assertTrue(timings.end(kept).isPresent());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link AsyncFileWriter}.
+ *
+ * @author AuroraLS3
+ */
+public class AsyncFileWriterTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private AsyncFileWriter writerFor(AtomicReference<File> file) {
+        ErrorHandler errorHandler = mock(ErrorHandler.class);
+        return new AsyncFileWriter("Test", file::get, () -> errorHandler, 100, 1024, 10000L);
+    }
+
+    @Test
+    public void closeWritesQueuedLines() throws IOException {
+        File file = new File(temporaryFolder.getRoot(), "test.txt");
+        AsyncFileWriter writer = writerFor(new AtomicReference<>(file));
+
+        writer.offer(Arrays.asList("First", "Second"));
+        writer.offer(Collections.singletonList("Third"));
+        writer.close();
+
+        assertEquals(Arrays.asList("First", "Second", "Third"), FileLogger.readContents(file));
+    }
+
+    @Test
+    public void linesGoToNewFileWhenSupplierChanges() throws IOException {
+        File first = new File(temporaryFolder.getRoot(), "first.txt");
+        File second = new File(temporaryFolder.getRoot(), "second.txt");
+        AtomicReference<File> current = new AtomicReference<>(first);
+        AsyncFileWriter writer = writerFor(current);
+
+        writer.offer(Collections.singletonList("Old"));
+        while (!first.exists()) {
+            Thread.yield();
+        }
+        current.set(second);
+        writer.offer(Collections.singletonList("New"));
+        writer.close();
+
+        assertEquals(Collections.singletonList("Old"), FileLogger.readContents(first));
+        assertEquals(Collections.singletonList("New"), FileLogger.readContents(second));
+    }
+
+    @Test
+    public void linesAreDroppedAfterClose() {
+        AsyncFileWriter writer = writerFor(new AtomicReference<>(new File(temporaryFolder.getRoot(), "test.txt")));
+        writer.close();
+
+        assertFalse(writer.offer(Arrays.asList("First", "Second")));
+        assertEquals(2L, writer.getDroppedLines());
+    }
+
+    @Test
+    public void recordThatDoesNotFitIsDroppedWhole() throws IOException {
+        File file = new File(temporaryFolder.getRoot(), "test.txt");
+        ErrorHandler errorHandler = mock(ErrorHandler.class);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncFileWriter writer = new AsyncFileWriter("Test", () -> {
+            blocked.countDown();
+            await(release);
+            return file;
+        }, () -> errorHandler, 3, 1024, 10000L);
+
+        assertTrue(writer.offer(Collections.singletonList("Taken")));
+        await(blocked);
+        assertTrue(writer.offer(Arrays.asList("First", "Second")));
+        assertFalse(writer.offer(Arrays.asList("Third", "Fourth")));
+        assertEquals(2, writer.getQueuedLines());
+        assertEquals(2L, writer.getDroppedLines());
+        release.countDown();
+        writer.close();
+
+        assertEquals(Arrays.asList("Taken", "First", "Second"), FileLogger.readContents(file));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
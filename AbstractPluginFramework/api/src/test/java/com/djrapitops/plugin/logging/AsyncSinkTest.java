@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AsyncSink}.
+ *
+ * @author AuroraLS3
+ */
+public class AsyncSinkTest {
+
+    @Test
+    public void queuedEventsAreHandledBeforeClose() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        AsyncSink underTest = new AsyncSink("Test", event -> received.add(event.getLines().get(0)), BackpressurePolicy.BLOCK, 4);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(underTest.offer(LogEvent.of(L.DEBUG, "", "Line " + i)));
+        }
+        underTest.close();
+
+        assertEquals(100, received.size());
+        assertEquals("Line 0", received.get(0));
+        assertEquals("Line 99", received.get(99));
+        assertEquals(0, underTest.getDroppedEvents());
+    }
+
+    @Test
+    public void dropNewestDiscardsEventsWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        AsyncSink underTest = new AsyncSink("Test", event -> {
+            await(release);
+            received.add(event.getLines().get(0));
+        }, BackpressurePolicy.DROP_NEWEST, 2);
+
+        underTest.offer(LogEvent.of(L.DEBUG, "", "Taken"));
+        awaitEmpty(underTest, received);
+        underTest.offer(LogEvent.of(L.DEBUG, "", "First"));
+        underTest.offer(LogEvent.of(L.DEBUG, "", "Second"));
+        assertFalse(underTest.offer(LogEvent.of(L.DEBUG, "", "Third")));
+        release.countDown();
+        underTest.close();
+
+        assertEquals(1, underTest.getDroppedEvents());
+        assertEquals("Second", received.get(received.size() - 1));
+    }
+
+    @Test
+    public void dropOldestKeepsNewestEvents() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        AsyncSink underTest = new AsyncSink("Test", event -> {
+            await(release);
+            received.add(event.getLines().get(0));
+        }, BackpressurePolicy.DROP_OLDEST, 2);
+
+        underTest.offer(LogEvent.of(L.DEBUG, "", "Taken"));
+        awaitEmpty(underTest, received);
+        underTest.offer(LogEvent.of(L.DEBUG, "", "First"));
+        underTest.offer(LogEvent.of(L.DEBUG, "", "Second"));
+        assertTrue(underTest.offer(LogEvent.of(L.DEBUG, "", "Third")));
+        release.countDown();
+        underTest.close();
+
+        assertEquals(1, underTest.getDroppedEvents());
+        assertFalse(received.contains("First"));
+        assertEquals("Third", received.get(received.size() - 1));
+    }
+
+    @Test
+    public void eventsAfterCloseAreDropped() {
+        AsyncSink underTest = new AsyncSink("Test", event -> {}, BackpressurePolicy.BLOCK, 2);
+        underTest.close();
+
+        assertFalse(underTest.offer(LogEvent.of(L.DEBUG, "", "Late")));
+        assertEquals(1, underTest.getDroppedEvents());
+    }
+
+    @Test
+    public void sinkFailuresAreCountedApartFromDropsAndReportedOnce() {
+        List<Throwable> reported = new CopyOnWriteArrayList<>();
+        ErrorHandler errorHandler = (level, caughtBy, throwable) -> reported.add(throwable);
+        AsyncSink underTest = new AsyncSink("Test", event -> {
+            throw new IllegalStateException("Broken sink");
+        }, BackpressurePolicy.BLOCK, 4, () -> errorHandler);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(underTest.offer(LogEvent.of(L.DEBUG, "", "Line " + i)));
+        }
+        underTest.close();
+
+        assertEquals(3, underTest.getFailedEvents());
+        assertEquals(0, underTest.getDroppedEvents());
+        assertEquals(1, reported.size());
+        assertEquals("Broken sink", reported.get(0).getMessage());
+    }
+
+    private static void awaitEmpty(AsyncSink sink, List<String> received) throws InterruptedException {
+        // The first event is taken by the sink thread, which then blocks until released.
+        Thread.sleep(300);
+        assertTrue(received.isEmpty());
+        assertEquals(0, sink.getDroppedEvents());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
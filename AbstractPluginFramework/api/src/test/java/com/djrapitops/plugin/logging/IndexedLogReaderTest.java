@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import com.djrapitops.plugin.logging.error.ErrorFingerprint;
+import com.djrapitops.plugin.logging.error.ErrorRecord;
+import com.djrapitops.plugin.logging.error.FolderTimeStampErrorFileLogger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link IndexedLogReader}.
+ *
+ * @author AuroraLS3
+ */
+public class IndexedLogReaderTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(temporaryFolder.getRoot(), "DebugLog-2021_01_01.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lines.add("| 01-01 10:00:00 | [" + (i % 2 == 0 ? "Even" : "Odd") + "] Line " + i + " ä");
+        }
+        FileLogger.appendToFile(file, lines);
+    }
+
+    private IndexedLogReader indexedReader() throws IOException {
+        IndexedLogReader reader = IndexedLogReader.forDebug(file);
+        reader.refresh();
+        return reader;
+    }
+
+    @Test
+    public void linesArePaged() throws IOException {
+        IndexedLogReader reader = indexedReader();
+
+        assertEquals(10, reader.getLineCount());
+        List<String> page = reader.read(3, 2);
+        assertEquals(2, page.size());
+        assertTrue(page.get(0).endsWith("Line 3 ä"));
+        assertTrue(page.get(1).endsWith("Line 4 ä"));
+        assertTrue(reader.read(20, 5).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeFromIsRejected() throws IOException {
+        indexedReader().read(-1, 5);
+    }
+
+    @Test
+    public void tailReadsLastLines() throws IOException {
+        List<String> tail = indexedReader().tail(2);
+        assertTrue(tail.get(0).endsWith("Line 8 ä"));
+        assertTrue(tail.get(1).endsWith("Line 9 ä"));
+    }
+
+    @Test
+    public void linesAreFilteredByKey() throws IOException {
+        IndexedLogReader reader = indexedReader();
+
+        List<String> odd = reader.readByKey("Odd", 1, 2);
+        assertEquals(2, odd.size());
+        assertTrue(odd.get(0).endsWith("Line 3 ä"));
+        assertTrue(odd.get(1).endsWith("Line 5 ä"));
+        assertEquals(Integer.valueOf(5), reader.getKeyCounts().get("Even"));
+    }
+
+    @Test
+    public void sidecarIsReusedAndExtended() throws IOException {
+        indexedReader();
+        assertTrue(new File(temporaryFolder.getRoot(), file.getName() + ".idx").exists());
+
+        Files.write(file.toPath(), Arrays.asList("| 01-01 10:00:00 | [New] Appended"),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Files.write(file.toPath(), "| 01-01 10:00:00 | [New] Unfinished".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        IndexedLogReader reader = indexedReader();
+        assertEquals(11, reader.getLineCount());
+        assertEquals(Arrays.asList("| 01-01 10:00:00 | [New] Appended"), reader.readByKey("New", 0, 10));
+
+        IndexedLogReader again = indexedReader();
+        assertEquals(11, again.getLineCount());
+        assertEquals(reader.tail(3), again.tail(3));
+    }
+
+    @Test
+    public void replacedFileIsIndexedAgain() throws IOException {
+        indexedReader();
+        Files.write(file.toPath(), Arrays.asList("| 01-01 10:00:00 | [Other] Only line"), StandardCharsets.UTF_8);
+
+        IndexedLogReader reader = indexedReader();
+        assertEquals(1, reader.getLineCount());
+        assertEquals(Arrays.asList("| 01-01 10:00:00 | [Other] Only line"), reader.read(0, 5));
+    }
+
+    @Test
+    public void errorRecordsAreKeyedByFingerprint() throws IOException {
+        FolderTimeStampErrorFileLogger errorLogger = new FolderTimeStampErrorFileLogger(temporaryFolder.getRoot(), null);
+        IllegalStateException error = new IllegalStateException("Test");
+        errorLogger.log(L.ERROR, getClass(), error);
+        errorLogger.log(L.ERROR, getClass(), new IllegalArgumentException("Other"));
+
+        IndexedLogReader reader = IndexedLogReader.forErrors(errorLogger.getCurrentFile().orElseThrow(AssertionError::new));
+        reader.refresh();
+
+        List<String> matching = reader.readByKey(ErrorFingerprint.of(error), 0, 10);
+        assertEquals(1, matching.size());
+        assertEquals("Test", ErrorRecord.parse(matching.get(0)).map(ErrorRecord::getStackTrace)
+                .map(trace -> trace.get(0).substring(trace.get(0).indexOf(": ") + 2)).orElse(null));
+    }
+}
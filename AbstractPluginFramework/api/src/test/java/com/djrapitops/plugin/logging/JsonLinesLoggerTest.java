@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import com.djrapitops.plugin.logging.error.ErrorFingerprint;
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link JsonLinesLogger}.
+ *
+ * @author AuroraLS3
+ */
+public class JsonLinesLoggerTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File file;
+    private JsonLinesLogger underTest;
+
+    @Before
+    public void setUp() {
+        file = new File(temporaryFolder.getRoot(), "log.jsonl");
+        ErrorHandler errorHandler = mock(ErrorHandler.class);
+        underTest = new JsonLinesLogger(() -> file, () -> errorHandler, 65536, 10000L);
+    }
+
+    private JSONObject readLine(int index) throws IOException, ParseException {
+        List<String> lines = FileLogger.readContents(file);
+        return (JSONObject) new JSONParser().parse(lines.get(index));
+    }
+
+    @Test
+    public void debugLinesAreRecords() throws IOException, ParseException {
+        underTest.logOn("Channel", "First", "Quote \" backslash \\ tab \t newline \n ä € 😀");
+        underTest.close();
+
+        assertEquals(2, FileLogger.readContents(file).size());
+        JSONObject first = readLine(0);
+        assertEquals("DEBUG", first.get("level"));
+        assertEquals("Channel", first.get("channel"));
+        assertEquals("First", first.get("message"));
+        assertEquals(Thread.currentThread().getName(), first.get("thread"));
+        assertTrue(first.get("time") instanceof Long);
+        assertEquals("Quote \" backslash \\ tab \t newline \n ä € 😀", readLine(1).get("message"));
+    }
+
+    @Test
+    public void errorsIncludeCauseChain() throws IOException, ParseException {
+        IllegalStateException error = new IllegalStateException("Outer", new IllegalArgumentException(null, null));
+        underTest.log(L.ERROR, getClass(), error);
+        underTest.close();
+
+        JSONObject record = readLine(0);
+        assertEquals("ERROR", record.get("level"));
+        assertEquals(getClass().getName(), record.get("caughtBy"));
+        assertEquals("Outer", record.get("message"));
+        JSONObject throwable = (JSONObject) record.get("throwable");
+        assertEquals(ErrorFingerprint.of(error), throwable.get("fingerprint"));
+        assertEquals(IllegalStateException.class.getName(), throwable.get("type"));
+        assertEquals(error.getStackTrace()[0].toString(), ((JSONArray) throwable.get("frames")).get(0));
+        JSONObject cause = (JSONObject) throwable.get("cause");
+        assertEquals(IllegalArgumentException.class.getName(), cause.get("type"));
+        assertNull(cause.get("message"));
+    }
+
+    @Test
+    public void recordsOverBufferAreDropped() {
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 70000; i++) {
+            large.append('x');
+        }
+        underTest.logOn("Channel", large.toString());
+        underTest.close();
+
+        assertEquals(1L, underTest.getDroppedRecords());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void writeFailureIsReportedOnceUntilWriteSucceeds() throws InterruptedException {
+        AtomicInteger reported = new AtomicInteger();
+        ErrorHandler errorHandler = (level, caughtBy, throwable) -> reported.incrementAndGet();
+        // A folder can not be opened for writing
+        JsonLinesLogger failing = new JsonLinesLogger(temporaryFolder::getRoot, () -> errorHandler, 65536, 10L);
+        for (int i = 0; i < 3; i++) {
+            failing.logOn("Channel", "Line " + i);
+            Thread.sleep(50L);
+        }
+        failing.close();
+
+        assertEquals(1, reported.get());
+    }
+
+    @Test
+    public void errorsOfThisLoggerAreNotWritten() throws IOException {
+        underTest.log(L.CRITICAL, JsonLinesLogger.class, new IOException("Disk full"));
+        underTest.close();
+
+        assertFalse(file.exists() && !FileLogger.readContents(file).isEmpty());
+    }
+}
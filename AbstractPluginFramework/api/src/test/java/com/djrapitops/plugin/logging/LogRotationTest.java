@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link LogRotation} with {@link FolderTimeStampFileLogger}.
+ *
+ * @author AuroraLS3
+ */
+public class LogRotationTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File folder;
+    private FolderTimeStampFileLogger logger;
+
+    @Before
+    public void setUp() {
+        folder = temporaryFolder.getRoot();
+        ErrorHandler errorHandler = mock(ErrorHandler.class);
+        logger = new FolderTimeStampFileLogger("Test", folder, () -> errorHandler);
+    }
+
+    private String day() {
+        return TimeStampFormat.day().now();
+    }
+
+    @Test
+    public void fileIsRotatedAndCompressedWhenFull() throws Exception {
+        logger.setRotation(new LogRotation(100L, 0, 0L));
+        for (int i = 0; i < 10; i++) {
+            logger.log("Line number " + i + " that is long enough");
+        }
+        LogRotation.awaitBackgroundTasks();
+
+        File compressed = new File(folder, "Test-" + day() + ".txt.gz");
+        assertTrue(compressed.exists());
+        assertFalse(new File(folder, "Test-" + day() + ".txt").exists());
+        assertTrue(readGzip(compressed).contains("Line number 0"));
+        assertTrue(logger.getCurrentFile().isPresent());
+        assertTrue(logger.getCurrentFile().get().getName().matches("Test-" + day() + "\\.\\d+\\.txt"));
+    }
+
+    @Test
+    public void asyncRotationCompressesAfterWriterCloses() throws Exception {
+        logger.setRotation(new LogRotation(100L, 0, 0L));
+        logger.startAsync();
+        for (int i = 0; i < 10; i++) {
+            logger.log("Line number " + i + " that is long enough");
+        }
+        logger.close();
+        LogRotation.awaitBackgroundTasks();
+
+        List<File> files = LogRotation.getLogFiles(folder, "Test");
+        long compressed = files.stream().filter(file -> file.getName().endsWith(".gz")).count();
+        assertEquals(files.size() - 1, compressed);
+    }
+
+    @Test
+    public void lastFileOfPreviousDayIsCompressedOnDayChange() throws Exception {
+        AtomicReference<String> day = new AtomicReference<>("2000_01_01");
+        ErrorHandler errorHandler = mock(ErrorHandler.class);
+        logger = new FolderTimeStampFileLogger("Test", folder, () -> errorHandler) {
+            @Override
+            String today() {
+                return day.get();
+            }
+        };
+        logger.setRotation(new LogRotation(1000L, 0, 0L));
+        logger.log("First day");
+        day.set("2000_01_02");
+        logger.log("Second day");
+        LogRotation.awaitBackgroundTasks();
+
+        File compressed = new File(folder, "Test-2000_01_01.txt.gz");
+        assertTrue(compressed.exists());
+        assertFalse(new File(folder, "Test-2000_01_01.txt").exists());
+        assertTrue(readGzip(compressed).contains("First day"));
+        assertTrue(new File(folder, "Test-2000_01_02.txt").exists());
+    }
+
+    @Test
+    public void restartContinuesAfterCompressedFiles() throws Exception {
+        assertTrue(new File(folder, "Test-" + day() + ".txt.gz").createNewFile());
+        assertTrue(new File(folder, "Test-" + day() + ".1.txt.gz").createNewFile());
+        logger.setRotation(new LogRotation(1000L, 0, 0L));
+
+        logger.log("Line");
+
+        assertEquals("Test-" + day() + ".2.txt", logger.getCurrentFile().map(File::getName).orElse(null));
+    }
+
+    @Test
+    public void oldestFilesAreRemovedOverTotalSize() throws Exception {
+        File old = new File(folder, "Test-2000_01_01.txt");
+        FileLogger.appendToFile(old, "Some old content that takes space in the folder");
+        assertTrue(old.setLastModified(System.currentTimeMillis() - 100000L));
+        File unrelated = new File(folder, "Other-2000_01_01.txt");
+        FileLogger.appendToFile(unrelated, "Some old content that takes space in the folder");
+
+        logger.setRotation(new LogRotation(0L, 0, 20L));
+        logger.log("Line");
+        LogRotation.awaitBackgroundTasks();
+
+        assertFalse(old.exists());
+        assertTrue(unrelated.exists());
+        assertTrue(logger.getCurrentFile().isPresent());
+    }
+
+    @Test
+    public void filesAreRemovedByAge() throws Exception {
+        File old = new File(folder, "Test-2000_01_01.txt.gz");
+        assertTrue(old.createNewFile());
+        assertTrue(old.setLastModified(System.currentTimeMillis() - 3L * 24L * 60L * 60L * 1000L));
+
+        logger.setRotation(new LogRotation(0L, 2, 0L));
+        logger.log("Line");
+        LogRotation.awaitBackgroundTasks();
+
+        assertFalse(old.exists());
+    }
+
+    private String readGzip(File file) throws IOException {
+        try (InputStream in = new GZIPInputStream(new FileInputStream(file));
+             Scanner scanner = new Scanner(in, "UTF-8").useDelimiter("\\A")) {
+            return scanner.hasNext() ? scanner.next() : "";
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link MessageFormatter}.
+ *
+ * @author AuroraLS3
+ */
+public class MessageFormatterTest {
+
+    @Test
+    public void placeholdersAreReplacedInOrder() {
+        assertEquals("Loaded 5 players in 20 ms", MessageFormatter.format("Loaded {} players in {} ms", 5, 20L));
+    }
+
+    @Test
+    public void missingArgumentsLeavePlaceholders() {
+        assertEquals("a {}", MessageFormatter.format("{} {}", "a"));
+    }
+
+    @Test
+    public void extraArgumentsAreIgnored() {
+        assertEquals("a", MessageFormatter.format("{}", "a", "b"));
+    }
+
+    @Test
+    public void arraysAndNullsAreFormatted() {
+        assertEquals("[1, 2] [x] null", MessageFormatter.format("{} {} {}", new int[]{1, 2}, new String[]{"x"}, null));
+    }
+
+    @Test
+    public void patternWithoutArgumentsIsReturned() {
+        assertEquals("Text {}", MessageFormatter.format("Text {}"));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TimeStampFormat}.
+ *
+ * @author AuroraLS3
+ */
+public class TimeStampFormatTest {
+
+    @Test
+    public void matchesSimpleDateFormat() {
+        long now = System.currentTimeMillis();
+        assertEquals(new SimpleDateFormat("MM-dd HH:mm:ss").format(now), TimeStampFormat.line().format(now));
+        assertEquals(new SimpleDateFormat("yyyy_MM_dd").format(now), TimeStampFormat.day().format(now));
+    }
+
+    @Test
+    public void textIsReusedWithinSameSecond() {
+        TimeStampFormat format = new TimeStampFormat("HH:mm:ss", ChronoUnit.SECONDS);
+        long second = 1_600_000_000_000L;
+
+        String first = format.format(second);
+        assertSame(first, format.format(second + 999L));
+        assertNotSame(first, format.format(second + 1000L));
+    }
+
+    @Test
+    public void earlierTimeIsFormattedAgain() {
+        TimeStampFormat format = new TimeStampFormat("HH:mm:ss", ChronoUnit.SECONDS);
+        long second = 1_600_000_000_000L;
+
+        String later = format.format(second + 5000L);
+        assertNotEquals(later, format.format(second));
+    }
+}
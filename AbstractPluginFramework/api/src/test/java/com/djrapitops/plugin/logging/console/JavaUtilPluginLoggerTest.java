@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.console;
+
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.LogEvent;
+import com.djrapitops.plugin.logging.debug.DebugLogger;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link JavaUtilPluginLogger}.
+ *
+ * @author AuroraLS3
+ */
+public class JavaUtilPluginLoggerTest {
+
+    @Test
+    public void consoleLinesReachDebugLoggerAsSingleEvent() {
+        DebugLogger debugLogger = Mockito.mock(DebugLogger.class);
+        JavaUtilPluginLogger underTest = new JavaUtilPluginLogger(line -> {}, () -> debugLogger, Logger.getLogger("Test"));
+
+        underTest.log(L.WARN, "First", "Second");
+
+        ArgumentCaptor<LogEvent> captor = ArgumentCaptor.forClass(LogEvent.class);
+        verify(debugLogger).log(captor.capture());
+        verifyNoMoreInteractions(debugLogger);
+        LogEvent event = captor.getValue();
+        assertEquals(L.WARN, event.getLevel());
+        assertEquals(Arrays.asList("First", "Second"), event.getLines());
+    }
+}
@@ -23,13 +23,18 @@
  */
 package com.djrapitops.plugin.logging.debug;
 
+import com.djrapitops.plugin.logging.BackpressurePolicy;
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.LogEvent;
+import com.djrapitops.plugin.logging.TimeStampFormat;
 import com.djrapitops.plugin.logging.console.TestPluginLogger;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 
 /**
  * Tests for {@link CombineDebugLogger}.
@@ -61,8 +66,8 @@ public class CombineDebugLoggerTest {
 
     @Test
     public void subLoggersAreCalledOnLog() {
-        DebugLogger mockOne = Mockito.mock(DebugLogger.class);
-        DebugLogger mockTwo = Mockito.mock(DebugLogger.class);
+        DebugLogger mockOne = mockLogger();
+        DebugLogger mockTwo = mockLogger();
 
         DebugLogger underTest = new CombineDebugLogger(mockOne, mockTwo);
 
@@ -74,8 +79,8 @@ public class CombineDebugLoggerTest {
 
     @Test
     public void subLoggersAreCalledOnLogOn() {
-        DebugLogger mockOne = Mockito.mock(DebugLogger.class);
-        DebugLogger mockTwo = Mockito.mock(DebugLogger.class);
+        DebugLogger mockOne = mockLogger();
+        DebugLogger mockTwo = mockLogger();
 
         DebugLogger underTest = new CombineDebugLogger(mockOne, mockTwo);
 
@@ -84,4 +89,142 @@ public class CombineDebugLoggerTest {
         verify(mockOne).logOn("Channel", "Test");
         verify(mockTwo).logOn("Channel", "Test");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void disabledChannelIsNotLogged() {
+        DebugLogger mock = mockLogger();
+        CombineDebugLogger underTest = new CombineDebugLogger(mock);
+        underTest.setChannelEnabled("Channel", false);
+
+        underTest.logOn("Channel", "Test");
+        underTest.logOn("Channel", () -> {
+            throw new AssertionError("Supplier should not be called");
+        });
+        underTest.logOnFormatted("Channel", "Test {}", 1);
+
+        assertFalse(underTest.isEnabled("Channel"));
+        verifyZeroInteractions(mock);
+    }
+
+    @Test
+    public void enabledChannelBuildsMessagesLazily() {
+        DebugLogger mock = mockLogger();
+        CombineDebugLogger underTest = new CombineDebugLogger(mock);
+        underTest.setChannelEnabled("Channel", false);
+        underTest.setChannelEnabled("Channel", true);
+
+        underTest.logOn("Channel", () -> "Supplied");
+        underTest.logOnFormatted("Channel", "Formatted {}", 1);
+
+        verify(mock).logOn("Channel", "Supplied");
+        verify(mock).logOn("Channel", "Formatted 1");
+    }
+
+    @Test
+    public void routeSendsOnlyToChosenSinks() {
+        DebugLogger mock = mockLogger();
+        MemoryDebugLogger memory = new MemoryDebugLogger();
+        CombineDebugLogger underTest = new CombineDebugLogger(mock, memory);
+        underTest.setRoute("Channel", ChannelRoute.all().withSinks(MemoryDebugLogger.class));
+
+        underTest.logOn("Channel", "Test");
+
+        verifyZeroInteractions(mock);
+        assertEquals(1, memory.getChannels().get("Channel").size());
+    }
+
+    @Test
+    public void sampledRouteKeepsEveryNthMessage() {
+        DebugLogger mock = mockLogger();
+        CombineDebugLogger underTest = new CombineDebugLogger(mock);
+        ChannelRoute route = ChannelRoute.all().withSampling(3);
+        underTest.setRoute("Channel", route);
+
+        for (int i = 0; i < 10; i++) {
+            underTest.logOn("Channel", "Test");
+        }
+
+        verify(mock, times(4)).logOn("Channel", "Test");
+        assertEquals(6L, route.getSuppressedCount());
+    }
+
+    @Test
+    public void rateLimitedRouteDiscardsMessagesOverLimit() {
+        DebugLogger mock = mockLogger();
+        CombineDebugLogger underTest = new CombineDebugLogger(mock);
+        underTest.setRoute("Channel", ChannelRoute.all().withRateLimit(2));
+
+        for (int i = 0; i < 10; i++) {
+            underTest.logOn("Channel", () -> "Test");
+        }
+
+        // The loop may span two different seconds
+        verify(mock, atLeast(2)).logOn("Channel", "Test");
+        verify(mock, atMost(4)).logOn("Channel", "Test");
+    }
+
+    @Test
+    public void enablingChannelKeepsRoute() {
+        CombineDebugLogger underTest = new CombineDebugLogger();
+        underTest.setRoute("Channel", ChannelRoute.all().withSampling(5));
+        underTest.setChannelEnabled("Channel", false);
+        underTest.setChannelEnabled("Channel", true);
+
+        assertTrue(underTest.isEnabled("Channel"));
+        assertTrue(underTest.getRoute("Channel").map(ChannelRoute::toString).orElse("").contains("sampleEvery=5"));
+    }
+
+    @Test
+    public void asyncModeDeliversToEveryLogger() {
+        DebugLogger mockOne = mockLogger();
+        DebugLogger mockTwo = mockLogger();
+        CombineDebugLogger underTest = new CombineDebugLogger(mockOne, mockTwo);
+
+        underTest.startAsync(BackpressurePolicy.BLOCK, 16);
+        underTest.logOn("Channel", "Test");
+        underTest.stopAsync();
+
+        verify(mockOne).logOn("Channel", "Test");
+        verify(mockTwo).logOn("Channel", "Test");
+        assertEquals(0, underTest.getDroppedEvents());
+    }
+
+    @Test
+    public void asyncModeFollowsRoutes() {
+        MemoryDebugLogger memory = new MemoryDebugLogger();
+        DebugLogger mock = mockLogger();
+        CombineDebugLogger underTest = new CombineDebugLogger(memory, mock);
+        underTest.setRoute("Channel", ChannelRoute.all().withSinks(MemoryDebugLogger.class));
+
+        underTest.startAsync(BackpressurePolicy.DROP_NEWEST, 16);
+        underTest.logOn("Channel", "Test");
+        underTest.stopAsync();
+
+        verify(mock, never()).logOn(anyString(), (String[]) any());
+        assertEquals(1, memory.getChannels().get("Channel").size());
+    }
+
+    @Test
+    public void eventTimeIsUsedByMemoryLogger() {
+        MemoryDebugLogger memory = new MemoryDebugLogger();
+        CombineDebugLogger underTest = new CombineDebugLogger(memory);
+        LogEvent event = LogEvent.of(L.INFO, "", "Test");
+
+        underTest.log(event);
+
+        String expected = TimeStampFormat.line().format(event.getTime()) + " | Test";
+        assertEquals(expected, memory.getChannels().get("").get(0));
+    }
+
+    private static DebugLogger mockLogger() {
+        // Spy instead of mock, so that the default log(LogEvent) reaches the verified logOn.
+        return Mockito.spy(new NoOpDebugLogger());
+    }
+
+    private static class NoOpDebugLogger implements DebugLogger {
+        @Override
+        public void logOn(String channel, String... lines) {
+            // Calls are verified.
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.debug;
+
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.LogEvent;
+import com.djrapitops.plugin.logging.TimeStampFormat;
+import com.djrapitops.plugin.logging.error.ErrorHandler;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Tests for {@link JournalDebugLogger} and {@link JournalDecoder}.
+ *
+ * @author AuroraLS3
+ */
+public class JournalDebugLoggerTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File folder;
+    private ErrorHandler errorHandler;
+
+    @Before
+    public void setUp() {
+        folder = temporaryFolder.getRoot();
+        errorHandler = mock(ErrorHandler.class);
+    }
+
+    @Test
+    public void loggedLinesAreDecoded() throws Exception {
+        JournalDebugLogger underTest = new JournalDebugLogger(folder, () -> errorHandler, 4096, 2);
+        underTest.logOn("Channel", "First", "Second ä");
+        underTest.log("Default");
+
+        List<String> lines = JournalDecoder.decode(folder);
+
+        String thread = Thread.currentThread().getName();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0), lines.get(0).endsWith(" | " + thread + " | [Channel] First"));
+        assertTrue(lines.get(1), lines.get(1).endsWith(" | " + thread + " | [Channel] Second ä"));
+        assertTrue(lines.get(2), lines.get(2).endsWith(" | " + thread + " | [] Default"));
+        underTest.close();
+        verifyZeroInteractions(errorHandler);
+    }
+
+    @Test
+    public void eventTimeAndThreadAreUsed() throws Exception {
+        JournalDebugLogger underTest = new JournalDebugLogger(folder, () -> errorHandler, 4096, 2);
+        LogEvent event = LogEvent.of(L.DEBUG, "Channel", "Test");
+        underTest.log(event);
+
+        List<String> lines = JournalDecoder.decode(folder);
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("| " + TimeStampFormat.line().format(event.getTime())));
+        underTest.close();
+    }
+
+    @Test
+    public void oldestSegmentIsReusedWhenJournalIsFull() throws Exception {
+        JournalDebugLogger underTest = new JournalDebugLogger(folder, () -> errorHandler, 4096, 2);
+        for (int i = 0; i < 1000; i++) {
+            underTest.logOn("Channel", "Line " + i);
+        }
+
+        List<String> lines = JournalDecoder.decode(folder);
+
+        assertEquals(2, folder.listFiles((dir, name) -> name.endsWith(".bin")).length);
+        assertTrue(lines.size() < 1000);
+        assertTrue(lines.get(lines.size() - 1).endsWith("[Channel] Line 999"));
+        // Lines of the segments are in logged order and each segment defines its own channel names.
+        int previous = -1;
+        for (String line : lines) {
+            int number = Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1));
+            assertEquals(previous < 0 ? number : previous + 1, number);
+            previous = number;
+        }
+        underTest.close();
+    }
+
+    @Test
+    public void tailReturnsLatestLinesAcrossSegments() throws Exception {
+        JournalDebugLogger underTest = new JournalDebugLogger(folder, () -> errorHandler, 4096, 3);
+        for (int i = 0; i < 150; i++) {
+            underTest.logOn("Channel", "Line " + i);
+        }
+
+        List<String> all = JournalDecoder.decode(folder);
+        List<String> tail = JournalDecoder.tail(folder, 120);
+
+        assertEquals(120, tail.size());
+        assertEquals(all.subList(all.size() - 120, all.size()), tail);
+        assertEquals(all, JournalDecoder.tail(folder, 10000));
+        underTest.close();
+    }
+
+    @Test
+    public void exportWritesEveryLine() throws Exception {
+        JournalDebugLogger underTest = new JournalDebugLogger(folder, () -> errorHandler, 4096, 3);
+        for (int i = 0; i < 150; i++) {
+            underTest.logOn("Channel", "Line " + i);
+        }
+        File output = new File(folder, "export.txt");
+
+        long written = JournalDecoder.export(folder, output);
+
+        List<String> all = JournalDecoder.decode(folder);
+        assertEquals(all.size(), written);
+        assertEquals(all, Files.readAllLines(output.toPath(), StandardCharsets.UTF_8));
+        underTest.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tailRejectsAmountBelowOne() throws Exception {
+        JournalDecoder.tail(folder, 0);
+    }
+
+    @Test
+    public void newLoggerContinuesAfterPreviousRun() throws Exception {
+        JournalDebugLogger first = new JournalDebugLogger(folder, () -> errorHandler, 4096, 3);
+        first.log("First run");
+        first.close();
+        JournalDebugLogger second = new JournalDebugLogger(folder, () -> errorHandler, 4096, 3);
+        second.log("Second run");
+        second.close();
+
+        List<String> lines = JournalDecoder.decode(folder);
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).endsWith("First run"));
+        assertTrue(lines.get(1).endsWith("Second run"));
+    }
+
+    @Test
+    public void tooLongLineIsTruncatedToSegment() throws Exception {
+        JournalDebugLogger underTest = new JournalDebugLogger(folder, () -> errorHandler, 4096, 2);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            builder.append('x');
+        }
+        underTest.log(builder.toString());
+        underTest.log("After");
+
+        List<String> lines = JournalDecoder.decode(folder);
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).length() < 4096);
+        assertTrue(lines.get(1).endsWith("After"));
+        underTest.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooSmallSegmentIsRejected() {
+        new JournalDebugLogger(folder, () -> errorHandler, 100, 2);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.debug;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link MemoryDebugLogger} queries.
+ *
+ * @author AuroraLS3
+ */
+public class MemoryDebugLoggerTest {
+
+    private static List<String> lines(Stream<DebugEntry> entries) {
+        return entries.map(DebugEntry::getLine).collect(Collectors.toList());
+    }
+
+    @Test
+    public void latestLinesOfChannelAreStreamedInOrder() {
+        MemoryDebugLogger underTest = new MemoryDebugLogger(5);
+        for (int i = 0; i < 8; i++) {
+            underTest.logOn("Channel", "Line " + i);
+        }
+        underTest.logOn("Other", "Other line");
+
+        assertEquals(Arrays.asList("Line 6", "Line 7"), lines(underTest.getLatest("Channel", 2)));
+        assertEquals(Arrays.asList("Line 3", "Line 4", "Line 5", "Line 6", "Line 7"), lines(underTest.getLatest("Channel", 100)));
+        assertEquals(Collections.emptyList(), lines(underTest.getLatest("Missing", 2)));
+    }
+
+    @Test
+    public void linesBetweenTimesAreFound() throws InterruptedException {
+        MemoryDebugLogger underTest = new MemoryDebugLogger();
+        underTest.logOn("Channel", "Before");
+        Thread.sleep(20);
+        long from = System.currentTimeMillis();
+        underTest.logOn("Channel", "During");
+        underTest.logOn("Other", "During other");
+        long to = System.currentTimeMillis() + 1;
+        Thread.sleep(20);
+        underTest.logOn("Channel", "After");
+
+        assertEquals(Collections.singletonList("During"), lines(underTest.getBetween("Channel", from, to)));
+        List<String> all = lines(underTest.getBetween(from, to));
+        assertEquals(2, all.size());
+        assertTrue(all.containsAll(Arrays.asList("During", "During other")));
+    }
+
+    @Test
+    public void channelsAreMergedInOrderOfTime() throws InterruptedException {
+        MemoryDebugLogger underTest = new MemoryDebugLogger();
+        underTest.logOn("First", "1");
+        Thread.sleep(5);
+        underTest.logOn("Second", "2");
+        Thread.sleep(5);
+        underTest.logOn("First", "3");
+        Thread.sleep(5);
+        underTest.logOn("Third", "4");
+        Thread.sleep(5);
+        underTest.logOn("Second", "5");
+
+        assertEquals(Arrays.asList("1", "2", "3", "4", "5"), lines(underTest.getBetween(0L, Long.MAX_VALUE)));
+        assertEquals(Arrays.asList("1", "2", "3", "4", "5"), lines(underTest.search("")));
+    }
+
+    @Test
+    public void linesContainingTextAreFound() {
+        MemoryDebugLogger underTest = new MemoryDebugLogger();
+        underTest.logOn("Channel", "Connected to database", "Loaded config");
+        underTest.logOn("Other", "Lost database connection");
+
+        assertEquals(Collections.singletonList("Connected to database"), lines(underTest.search("Channel", "database")));
+        assertEquals(2, lines(underTest.search("database")).size());
+    }
+
+    @Test
+    public void channelsAreFormattedWithTimeStamp() {
+        MemoryDebugLogger underTest = new MemoryDebugLogger();
+        underTest.logOn("Channel", "Test");
+
+        List<String> lines = underTest.getChannels().get("Channel");
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0), lines.get(0).matches("\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2} \\| Test"));
+    }
+}
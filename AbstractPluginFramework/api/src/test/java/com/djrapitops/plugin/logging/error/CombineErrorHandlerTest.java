@@ -23,6 +23,8 @@
  */
 package com.djrapitops.plugin.logging.error;
 
+import com.djrapitops.plugin.logging.AsyncSink;
+import com.djrapitops.plugin.logging.BackpressurePolicy;
 import com.djrapitops.plugin.logging.L;
 import com.djrapitops.plugin.logging.console.TestPluginLogger;
 import org.junit.Test;
@@ -30,6 +32,8 @@ import org.mockito.Mockito;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -74,4 +78,48 @@ public class CombineErrorHandlerTest {
         verify(mockOne).log(L.WARN, ErrorHandler.class, testException);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void asyncModeDeliversToEveryHandler() {
+        ErrorHandler mockOne = Mockito.mock(ErrorHandler.class);
+        ErrorHandler mockTwo = Mockito.mock(ErrorHandler.class);
+        CombineErrorHandler underTest = new CombineErrorHandler(mockOne, mockTwo);
+        IllegalStateException error = new IllegalStateException();
+
+        underTest.startAsync(BackpressurePolicy.BLOCK, 16);
+        underTest.log(L.WARN, getClass(), error);
+        underTest.stopAsync();
+
+        verify(mockOne).log(L.WARN, getClass(), error);
+        verify(mockTwo).log(L.WARN, getClass(), error);
+    }
+
+    @Test
+    public void criticalErrorsAreHandledOnCallingThreadInAsyncMode() {
+        ErrorHandler mock = Mockito.mock(ErrorHandler.class);
+        CombineErrorHandler underTest = new CombineErrorHandler(mock);
+        IllegalStateException error = new IllegalStateException();
+
+        underTest.startAsync(BackpressurePolicy.BLOCK, 16);
+        underTest.log(L.CRITICAL, getClass(), error);
+        verify(mock).log(L.CRITICAL, getClass(), error);
+        underTest.stopAsync();
+    }
+
+    @Test
+    public void asyncHandlerFailureIsPassedToOtherHandlers() {
+        ErrorHandler failing = (level, caughtBy, throwable) -> {
+            throw new IllegalStateException("Broken handler");
+        };
+        ErrorHandler working = Mockito.mock(ErrorHandler.class);
+        CombineErrorHandler underTest = new CombineErrorHandler(failing, working);
+        IllegalArgumentException error = new IllegalArgumentException();
+
+        underTest.startAsync(BackpressurePolicy.BLOCK, 16);
+        underTest.log(L.WARN, getClass(), error);
+        underTest.stopAsync();
+
+        verify(working).log(L.WARN, getClass(), error);
+        verify(working).log(eq(L.WARN), eq(AsyncSink.class), any(IllegalStateException.class));
+    }
+}
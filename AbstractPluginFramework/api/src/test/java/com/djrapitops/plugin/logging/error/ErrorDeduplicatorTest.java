@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.error;
+
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link ErrorDeduplicator}.
+ *
+ * @author AuroraLS3
+ */
+public class ErrorDeduplicatorTest {
+
+    private PluginLogger logger;
+    private ErrorHandler handler;
+    private CombineErrorHandler underTest;
+    private ErrorDeduplicator deduplicator;
+
+    @Before
+    public void setUp() {
+        logger = mock(PluginLogger.class);
+        handler = mock(ErrorHandler.class);
+        underTest = new CombineErrorHandler(handler);
+        deduplicator = new ErrorDeduplicator(logger);
+        underTest.setDeduplicator(deduplicator);
+    }
+
+    @After
+    public void tearDown() {
+        deduplicator.close();
+    }
+
+    private void logSameError(L level, int times) {
+        for (int i = 0; i < times; i++) {
+            // Created on the same line each time to get the same stack trace
+            underTest.log(level, getClass(), new IllegalStateException("Message " + i));
+        }
+    }
+
+    @Test
+    public void repeatedErrorIsLoggedOnce() {
+        ArgumentCaptor<Throwable> logged = ArgumentCaptor.forClass(Throwable.class);
+        logSameError(L.WARN, 5);
+
+        verify(handler, times(1)).log(eq(L.WARN), eq(getClass()), logged.capture());
+        assertEquals(4L, deduplicator.getRepeatCount(getClass(), logged.getValue()));
+        assertEquals(5L, underTest.getErrorCount(L.WARN));
+    }
+
+    @Test
+    public void differentErrorsAreBothLogged() {
+        underTest.log(L.WARN, getClass(), new IllegalStateException());
+        underTest.log(L.WARN, getClass(), new IllegalArgumentException());
+
+        verify(handler, times(2)).log(eq(L.WARN), eq(getClass()), any(Throwable.class));
+    }
+
+    @Test
+    public void criticalErrorsAreNeverSuppressed() {
+        logSameError(L.CRITICAL, 3);
+
+        verify(handler, times(3)).log(eq(L.CRITICAL), eq(getClass()), any(Throwable.class));
+    }
+
+    @Test
+    public void repeatsAreSummarized() {
+        deduplicator.setSummaryInterval(0L, TimeUnit.MILLISECONDS);
+        logSameError(L.ERROR, 2);
+
+        ArgumentCaptor<String> summary = ArgumentCaptor.forClass(String.class);
+        verify(logger).warn(summary.capture());
+        assertTrue(summary.getValue(), summary.getValue().startsWith("IllegalStateException caught by "
+                + getClass().getName()));
+        assertTrue(summary.getValue(), summary.getValue().contains("repeated 1 times"));
+    }
+
+    @Test
+    public void summarizeLogsPendingRepeats() {
+        logSameError(L.ERROR, 2);
+        verify(logger, never()).warn(any(String.class));
+
+        deduplicator.summarize();
+        verify(logger).warn(any(String.class));
+        deduplicator.summarize();
+        verify(logger).warn(any(String.class));
+    }
+
+    @Test
+    public void pendingRepeatsAreSummarizedPeriodically() {
+        deduplicator.setSummaryInterval(200L, TimeUnit.MILLISECONDS);
+        logSameError(L.ERROR, 2);
+        verify(logger, never()).warn(any(String.class));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !mockingDetails(logger).getInvocations().isEmpty());
+        verify(logger).warn(any(String.class));
+    }
+
+    @Test
+    public void closeLogsPendingRepeats() {
+        logSameError(L.ERROR, 3);
+        deduplicator.close();
+
+        ArgumentCaptor<String> summary = ArgumentCaptor.forClass(String.class);
+        verify(logger).warn(summary.capture());
+        assertTrue(summary.getValue(), summary.getValue().contains("repeated 2 times"));
+    }
+
+    @Test
+    public void fingerprintIgnoresMessage() {
+        String[] fingerprints = new String[2];
+        for (int i = 0; i < 2; i++) {
+            fingerprints[i] = ErrorFingerprint.of(new IllegalStateException("Message " + i));
+        }
+        assertEquals(fingerprints[0], fingerprints[1]);
+        assertEquals(16, fingerprints[0].length());
+    }
+}
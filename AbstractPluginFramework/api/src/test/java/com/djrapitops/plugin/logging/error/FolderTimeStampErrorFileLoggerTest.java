@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.logging.error;
+
+import com.djrapitops.plugin.logging.FileLogger;
+import com.djrapitops.plugin.logging.L;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link FolderTimeStampErrorFileLogger}.
+ *
+ * @author AuroraLS3
+ */
+public class FolderTimeStampErrorFileLoggerTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private FolderTimeStampErrorFileLogger underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new FolderTimeStampErrorFileLogger(temporaryFolder.getRoot(), mock(ErrorHandler.class));
+    }
+
+    private List<String> readLog() throws IOException {
+        File file = underTest.getCurrentFile().orElseThrow(AssertionError::new);
+        return FileLogger.readContents(file);
+    }
+
+    @Test
+    public void errorIsWrittenAsSingleRecord() throws IOException {
+        IllegalStateException error = new IllegalStateException("Outer", new IllegalArgumentException("Inner"));
+        underTest.log(L.ERROR, getClass(), error);
+
+        List<String> lines = readLog();
+        assertEquals(1, lines.size());
+
+        ErrorRecord record = ErrorRecord.parse(lines.get(0)).orElseThrow(AssertionError::new);
+        assertEquals("ERROR", record.getLevel());
+        assertEquals(getClass().getName(), record.getCaughtBy());
+        assertEquals(ErrorFingerprint.of(error), record.getFingerprint());
+        assertEquals(Arrays.asList(IllegalStateException.class.getName(), IllegalArgumentException.class.getName()),
+                record.getCauseTypes());
+    }
+
+    @Test
+    public void recordsAreSplitByError() throws IOException {
+        underTest.log(L.WARN, getClass(), new IllegalStateException("First"));
+        underTest.log(L.ERROR, String.class, new IllegalArgumentException("Second"));
+
+        SortedMap<String, List<String>> errors = FolderTimeStampErrorFileLogger.splitByError(readLog());
+        assertEquals(2, errors.size());
+        for (Map.Entry<String, List<String>> error : errors.entrySet()) {
+            assertTrue(error.getKey(), error.getKey().contains(" caught Illegal"));
+            assertTrue(error.getValue().get(0).startsWith("java.lang.Illegal"));
+            assertTrue(error.getValue().get(1).startsWith("   "));
+        }
+    }
+
+    @Test
+    public void causeChainIsInStackTrace() {
+        ErrorRecord record = ErrorRecord.of(L.ERROR, getClass(),
+                new IllegalStateException("Outer", new IllegalArgumentException("Inner")));
+        List<String> trace = ErrorRecord.parse(record.toJson()).orElseThrow(AssertionError::new).getStackTrace();
+
+        assertEquals("java.lang.IllegalStateException: Outer", trace.get(0));
+        assertTrue(trace.contains("Caused by:"));
+        assertTrue(trace.contains("java.lang.IllegalArgumentException: Inner"));
+    }
+
+    @Test
+    public void legacyLinesAreSplit() {
+        List<String> lines = Arrays.asList(
+                "| 01-01 10:00:00 | a.B caught IllegalStateException",
+                "| 01-01 10:00:00 | java.lang.IllegalStateException",
+                "| 01-01 10:00:01 | c.D caught NullPointerException",
+                "| 01-01 10:00:01 | java.lang.NullPointerException"
+        );
+        SortedMap<String, List<String>> errors = FolderTimeStampErrorFileLogger.splitByError(lines);
+
+        assertEquals(2, errors.size());
+        assertEquals(1, errors.get(lines.get(2)).size());
+    }
+}
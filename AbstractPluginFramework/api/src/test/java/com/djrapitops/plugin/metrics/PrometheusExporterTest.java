@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.metrics;
+
+import com.djrapitops.plugin.IPlugin;
+import com.djrapitops.plugin.benchmarking.Timings;
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.debug.DebugLogger;
+import com.djrapitops.plugin.logging.error.CombineErrorHandler;
+import com.djrapitops.plugin.task.thread.ThreadRunnableFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PrometheusExporter}.
+ *
+ * @author AuroraLS3
+ */
+public class PrometheusExporterTest {
+
+    private IPlugin plugin;
+    private Timings timings;
+    private CombineErrorHandler errorHandler;
+
+    @Before
+    public void setUp() {
+        plugin = Mockito.mock(IPlugin.class);
+        timings = new Timings(Mockito.mock(DebugLogger.class));
+        errorHandler = new CombineErrorHandler();
+        when(plugin.getTimings()).thenReturn(timings);
+        when(plugin.getRunnableFactory()).thenReturn(new ThreadRunnableFactory());
+        when(plugin.getErrorHandler()).thenReturn(errorHandler);
+    }
+
+    private String export() throws IOException {
+        StringWriter writer = new StringWriter();
+        new PrometheusExporter(plugin, "test").write(writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void timingResultsAreExported() throws IOException {
+        timings.start("Bench");
+        timings.end("Bench");
+
+        String output = export();
+        assertTrue(output, output.contains("# TYPE test_timing_average_seconds gauge\n"));
+        assertTrue(output, output.contains("test_timing_runs_total{name=\"Bench\"} 1\n"));
+    }
+
+    @Test
+    public void errorCountsAreExportedPerLevel() throws IOException {
+        errorHandler.log(L.WARN, PrometheusExporterTest.class, new IllegalStateException());
+        errorHandler.log(L.WARN, PrometheusExporterTest.class, new IllegalStateException());
+
+        String output = export();
+        assertTrue(output, output.contains("test_errors_total{level=\"WARN\"} 2\n"));
+        assertTrue(output, output.contains("test_errors_total{level=\"ERROR\"} 0\n"));
+    }
+
+    @Test
+    public void labelValuesAreEscaped() throws IOException {
+        timings.start("a \"quoted\" \\ name");
+        timings.end("a \"quoted\" \\ name");
+
+        String output = export();
+        assertTrue(output, output.contains("{name=\"a \\\"quoted\\\" \\\\ name\"}"));
+    }
+
+    @Test
+    public void taskCountersAreExported() throws IOException {
+        String output = export();
+        assertTrue(output, output.contains("test_tasks_created_total 0\n"));
+        assertTrue(output, output.contains("test_tasks_running 0\n"));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.task;
+
+import com.djrapitops.plugin.logging.debug.DebugLogger;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link TickBudget}.
+ *
+ * @author AuroraLS3
+ */
+public class TickBudgetTest {
+
+    private DebugLogger debugLogger;
+    private TickBudget underTest;
+
+    @Before
+    public void setUp() {
+        debugLogger = Mockito.mock(DebugLogger.class);
+        underTest = new TickBudget(() -> debugLogger);
+    }
+
+    @Test
+    public void executionsAreRolledUpPerTick() {
+        underTest.record("Task", 1000L);
+        underTest.record("Task", 500L);
+        underTest.record("Other", 200L);
+        underTest.tick();
+
+        Map<String, Long> lastTick = underTest.getLastTick();
+        assertEquals(Long.valueOf(1500L), lastTick.get("Task"));
+        assertEquals(Long.valueOf(200L), lastTick.get("Other"));
+
+        underTest.tick();
+        assertTrue(underTest.getLastTick().isEmpty());
+    }
+
+    @Test
+    public void usageStatisticsAreKept() {
+        underTest.record("Task", 1000L);
+        underTest.tick();
+        underTest.record("Task", 3000L);
+        underTest.tick();
+        underTest.tick();
+
+        TickUsage usage = underTest.getUsage("Task").orElseThrow(AssertionError::new);
+        assertEquals(2L, usage.getTicks());
+        assertEquals(4000L, usage.getTotalNs());
+        assertEquals(3000L, usage.getMaxNs());
+        assertEquals(2000L, usage.getAverageNs());
+    }
+
+    @Test
+    public void exceedingShareOfTickLogsWarning() {
+        underTest.setWarningShare(0.5);
+        underTest.record("Fast", TickBudget.TICK_NS / 4);
+        underTest.record("Slow", TickBudget.TICK_NS);
+        underTest.tick();
+
+        verify(debugLogger, times(1)).logOn(anyString(), Mockito.contains("'Slow'"));
+        verify(debugLogger, never()).logOn(anyString(), Mockito.contains("'Fast'"));
+    }
+
+    @Test
+    public void warningsAreThrottled() {
+        for (int i = 0; i < 10; i++) {
+            underTest.record("Slow", TickBudget.TICK_NS);
+            underTest.tick();
+        }
+
+        verify(debugLogger, times(1)).logOn(eq("Tick Budget"), anyString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveShareIsRejected() {
+        underTest.setWarningShare(0.0);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.utilities;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConcurrentRingBuffer}.
+ *
+ * @author AuroraLS3
+ */
+public class ConcurrentRingBufferTest {
+
+    @Test
+    public void keepsElementsInOrder() {
+        ConcurrentRingBuffer<Integer> buffer = new ConcurrentRingBuffer<>(5);
+        for (int i = 0; i < 3; i++) {
+            buffer.add(i);
+        }
+        assertEquals(Arrays.asList(0, 1, 2), buffer.snapshot());
+    }
+
+    @Test
+    public void oldestElementsAreOverwritten() {
+        ConcurrentRingBuffer<Integer> buffer = new ConcurrentRingBuffer<>(3);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i);
+        }
+        assertEquals(Arrays.asList(7, 8, 9), buffer.snapshot());
+        assertEquals(10L, buffer.getAddedCount());
+    }
+
+    @Test
+    public void clearRemovesElements() {
+        ConcurrentRingBuffer<Integer> buffer = new ConcurrentRingBuffer<>(3);
+        buffer.add(1);
+        buffer.add(2);
+        buffer.clear();
+        assertTrue(buffer.snapshot().isEmpty());
+        buffer.add(3);
+        assertEquals(Arrays.asList(3), buffer.snapshot());
+    }
+
+    @Test
+    public void getWrittenSkipsOverwrittenAndMissingSequences() {
+        ConcurrentRingBuffer<Integer> buffer = new ConcurrentRingBuffer<>(3);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(i);
+        }
+        assertNull(buffer.getWritten(1L));
+        assertEquals(Integer.valueOf(4), buffer.getWritten(4L));
+        assertNull(buffer.getWritten(5L));
+        buffer.clear();
+        assertNull(buffer.getWritten(4L));
+    }
+
+    @Test
+    public void concurrentWritersKeepLatestElements() throws InterruptedException {
+        int capacity = 100;
+        int perThread = 10000;
+        ConcurrentRingBuffer<Integer> buffer = new ConcurrentRingBuffer<>(capacity);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t * perThread;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    buffer.add(offset + i);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<Integer> snapshot = buffer.snapshot();
+        assertEquals(capacity, snapshot.size());
+        assertEquals(capacity, new HashSet<>(snapshot).size());
+        assertEquals(4L * perThread, buffer.getAddedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePositive() {
+        new ConcurrentRingBuffer<>(0);
+    }
+}
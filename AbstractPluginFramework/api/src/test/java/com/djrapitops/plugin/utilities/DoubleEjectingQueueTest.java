@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.utilities;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link DoubleEjectingQueue}.
+ *
+ * @author AuroraLS3
+ */
+public class DoubleEjectingQueueTest {
+
+    @Test
+    public void oldestValuesAreRemoved() {
+        DoubleEjectingQueue queue = new DoubleEjectingQueue(2);
+        queue.add(20.0);
+        queue.add(19.5);
+        queue.add(18.0);
+
+        assertArrayEquals(new double[]{19.5, 18.0}, queue.toArray(), 0.0);
+        assertEquals(18.75, queue.getMean(), 0.0001);
+        assertEquals(18.0, queue.getMin().getAsDouble(), 0.0);
+        assertEquals(19.5, queue.getMax().getAsDouble(), 0.0);
+        assertEquals(0.75, queue.getStandardDeviation(), 0.0001);
+    }
+
+    @Test
+    public void statisticsMatchValuesOfWindow() {
+        Random random = new Random(42);
+        DoubleEjectingQueue queue = new DoubleEjectingQueue(20);
+        for (int i = 0; i < 10000; i++) {
+            queue.add(15.0 + random.nextGaussian() * 5.0);
+
+            double[] window = queue.toArray();
+            double mean = Arrays.stream(window).average().getAsDouble();
+            double variance = Arrays.stream(window).map(value -> (value - mean) * (value - mean)).sum() / window.length;
+            assertEquals(mean * window.length, queue.getSum(), 0.0001);
+            assertEquals(mean, queue.getMean(), 0.0001);
+            assertEquals(variance, queue.getVariance(), 0.0001);
+            assertEquals(Arrays.stream(window).min().getAsDouble(), queue.getMin().getAsDouble(), 0.0);
+            assertEquals(Arrays.stream(window).max().getAsDouble(), queue.getMax().getAsDouble(), 0.0);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.utilities;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of {@link EjectingQueue} against the previous synchronized {@link ArrayDeque} implementation.
+ * <p>
+ * Not run with the tests, run the main method to benchmark.
+ *
+ * @author AuroraLS3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EjectingQueueBenchmark {
+
+    private static final int MAX_SIZE = 1000;
+
+    private EjectingQueue<Integer> ringQueue;
+    private SynchronizedDequeQueue<Integer> dequeQueue;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EjectingQueueBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        ringQueue = new EjectingQueue<>(MAX_SIZE);
+        dequeQueue = new SynchronizedDequeQueue<>(MAX_SIZE);
+        for (int i = 0; i < MAX_SIZE; i++) {
+            ringQueue.add(i);
+            dequeQueue.add(i);
+        }
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(4)
+    public void ringAdd() {
+        ringQueue.add(1);
+    }
+
+    @Benchmark
+    @Group("ring")
+    public void ringForEach(Blackhole blackhole) {
+        ringQueue.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    @Group("deque")
+    @GroupThreads(4)
+    public void dequeAdd() {
+        dequeQueue.add(1);
+    }
+
+    @Benchmark
+    @Group("deque")
+    public void dequeCopy(Blackhole blackhole) {
+        for (Integer element : dequeQueue.getElements()) {
+            blackhole.consume(element);
+        }
+    }
+
+    /**
+     * The implementation before the ring buffer, for comparison.
+     */
+    static class SynchronizedDequeQueue<E> {
+        private final int maxSize;
+        private final ArrayDeque<E> queue;
+
+        SynchronizedDequeQueue(int maxSize) {
+            this.maxSize = maxSize;
+            queue = new ArrayDeque<>(maxSize);
+        }
+
+        synchronized void add(E element) {
+            if (queue.size() >= maxSize) {
+                queue.poll();
+            }
+            queue.add(element);
+        }
+
+        synchronized List<E> getElements() {
+            return new ArrayList<>(queue);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.utilities;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link EjectingQueue}.
+ *
+ * @author AuroraLS3
+ */
+public class EjectingQueueTest {
+
+    @Test
+    public void headIsEjectedAfterMaxSize() {
+        EjectingQueue<Integer> queue = new EjectingQueue<>(3);
+        for (int i = 0; i < 5; i++) {
+            queue.add(i);
+        }
+        assertEquals(Arrays.asList(2, 3, 4), queue.getElements());
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    public void clearRemovesElements() {
+        EjectingQueue<Integer> queue = new EjectingQueue<>(3);
+        queue.add(1);
+        queue.clear();
+        queue.add(2);
+        assertEquals(Collections.singletonList(2), queue.getElements());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void forEachIteratesInOrder() {
+        EjectingQueue<Integer> queue = new EjectingQueue<>(3);
+        for (int i = 0; i < 4; i++) {
+            queue.add(i);
+        }
+        List<Integer> seen = new ArrayList<>();
+        queue.forEach(seen::add);
+        assertEquals(Arrays.asList(1, 2, 3), seen);
+    }
+
+    @Test
+    public void drainToMovesElementsOnce() {
+        EjectingQueue<Integer> queue = new EjectingQueue<>(3);
+        queue.add(1);
+        queue.add(2);
+        List<Integer> drained = new ArrayList<>();
+
+        assertEquals(2, queue.drainTo(drained));
+        assertEquals(0, queue.drainTo(drained));
+        assertEquals(Arrays.asList(1, 2), drained);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void zeroMaxSizeKeepsLatestElement() {
+        EjectingQueue<Integer> queue = new EjectingQueue<>(0);
+        queue.add(1);
+        queue.add(2);
+        assertEquals(Collections.singletonList(2), queue.getElements());
+    }
+
+    @Test
+    public void concurrentDrainsDoNotDuplicateOrLoseElements() throws InterruptedException {
+        EjectingQueue<Integer> queue = new EjectingQueue<>(100000);
+        Set<Integer> drained = Collections.synchronizedSet(new HashSet<>());
+        List<Integer> duplicates = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int producer = 0; producer < 2; producer++) {
+            int offset = producer * 10000;
+            executor.execute(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    queue.add(offset + i);
+                }
+            });
+        }
+        for (int consumer = 0; consumer < 2; consumer++) {
+            executor.execute(() -> {
+                for (int round = 0; round < 100; round++) {
+                    List<Integer> batch = new ArrayList<>();
+                    queue.drainTo(batch);
+                    for (Integer element : batch) {
+                        if (!drained.add(element)) {
+                            duplicates.add(element);
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        List<Integer> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        drained.addAll(rest);
+
+        assertTrue(duplicates.toString(), duplicates.isEmpty());
+        assertEquals(20000, drained.size());
+    }
+}
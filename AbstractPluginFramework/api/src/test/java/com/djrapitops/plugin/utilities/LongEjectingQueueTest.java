@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.utilities;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LongEjectingQueue}.
+ *
+ * @author AuroraLS3
+ */
+public class LongEjectingQueueTest {
+
+    @Test
+    public void oldestValuesAreRemoved() {
+        LongEjectingQueue queue = new LongEjectingQueue(3);
+        for (long i = 1; i <= 5; i++) {
+            queue.add(i);
+        }
+        assertArrayEquals(new long[]{3, 4, 5}, queue.toArray());
+        assertEquals(3, queue.size());
+        assertEquals(12L, queue.getSum());
+        assertEquals(4.0, queue.getMean(), 0.0001);
+        assertEquals(OptionalLong.of(3), queue.getMin());
+        assertEquals(OptionalLong.of(5), queue.getMax());
+        assertEquals(OptionalLong.of(5), queue.getLatest());
+        assertEquals(2.0 / 3.0, queue.getVariance(), 0.0001);
+    }
+
+    @Test
+    public void emptyQueueHasNoExtremes() {
+        LongEjectingQueue queue = new LongEjectingQueue(3);
+        queue.add(1);
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.getMin().isPresent());
+        assertFalse(queue.getMax().isPresent());
+        assertEquals(0.0, queue.getVariance(), 0.0);
+        assertEquals(0L, queue.getSum());
+    }
+
+    @Test
+    public void statisticsMatchValuesOfWindow() {
+        Random random = new Random(42);
+        LongEjectingQueue queue = new LongEjectingQueue(50);
+        for (int i = 0; i < 10000; i++) {
+            queue.add(random.nextInt(1000));
+
+            long[] window = queue.toArray();
+            long sum = Arrays.stream(window).sum();
+            double mean = (double) sum / window.length;
+            double variance = Arrays.stream(window).mapToDouble(value -> (value - mean) * (value - mean)).sum() / window.length;
+            assertEquals(sum, queue.getSum());
+            assertEquals(mean, queue.getMean(), 0.0001);
+            assertEquals(variance, queue.getVariance(), 0.01);
+            assertEquals(Arrays.stream(window).min().getAsLong(), queue.getMin().getAsLong());
+            assertEquals(Arrays.stream(window).max().getAsLong(), queue.getMax().getAsLong());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroMaxSizeIsRejected() {
+        new LongEjectingQueue(0);
+    }
+}
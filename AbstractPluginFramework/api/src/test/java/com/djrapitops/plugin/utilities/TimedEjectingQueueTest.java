@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2021 AuroraLS3
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.djrapitops.plugin.utilities;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link TimedEjectingQueue}.
+ *
+ * @author AuroraLS3
+ */
+public class TimedEjectingQueueTest {
+
+    private final AtomicLong clock = new AtomicLong(Long.MAX_VALUE - TimeUnit.SECONDS.toNanos(5));
+
+    private void advance(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    public void oldElementsAreRemovedOnRead() {
+        TimedEjectingQueue<Integer> queue = new TimedEjectingQueue<>(10, TimeUnit.SECONDS, 100, clock::get);
+        queue.add(1);
+        advance(6);
+        queue.add(2);
+        advance(6);
+
+        assertEquals(Collections.singletonList(2), queue.getElements());
+        assertEquals(1, queue.size());
+        advance(5);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void headIsEjectedAfterMaxSize() {
+        TimedEjectingQueue<Integer> queue = new TimedEjectingQueue<>(10, TimeUnit.MINUTES, 3, clock::get);
+        for (int i = 0; i < 40; i++) {
+            queue.add(i);
+        }
+
+        assertEquals(Arrays.asList(37, 38, 39), queue.getElements());
+    }
+
+    @Test
+    public void queueGrowsPastInitialCapacityInOrder() {
+        TimedEjectingQueue<Integer> queue = new TimedEjectingQueue<>(10, TimeUnit.MINUTES, 1000, clock::get);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            queue.add(i);
+            expected.add(i);
+        }
+        List<Integer> seen = new ArrayList<>();
+        queue.forEach(seen::add);
+
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    public void clearRemovesElements() {
+        TimedEjectingQueue<Integer> queue = new TimedEjectingQueue<>(10, TimeUnit.SECONDS, 10, clock::get);
+        queue.add(1);
+        queue.clear();
+        queue.add(2);
+
+        assertEquals(Collections.singletonList(2), queue.getElements());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroMaxAgeIsRejected() {
+        new TimedEjectingQueue<>(0, TimeUnit.SECONDS, 10);
+    }
+}
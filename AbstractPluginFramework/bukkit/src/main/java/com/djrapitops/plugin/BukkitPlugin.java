@@ -27,14 +27,19 @@ import com.djrapitops.plugin.api.utility.Version;
 import com.djrapitops.plugin.benchmarking.Timings;
 import com.djrapitops.plugin.command.CommandNode;
 import com.djrapitops.plugin.command.bukkit.BukkitCommand;
+import com.djrapitops.plugin.logging.FolderTimeStampFileLogger;
 import com.djrapitops.plugin.logging.console.JavaUtilPluginLogger;
 import com.djrapitops.plugin.logging.console.PluginLogger;
 import com.djrapitops.plugin.logging.debug.CombineDebugLogger;
 import com.djrapitops.plugin.logging.debug.DebugLogger;
+import com.djrapitops.plugin.logging.debug.FolderTimeStampFileDebugLogger;
 import com.djrapitops.plugin.logging.debug.MemoryDebugLogger;
 import com.djrapitops.plugin.logging.error.DefaultErrorHandler;
+import com.djrapitops.plugin.logging.error.ErrorDeduplicator;
 import com.djrapitops.plugin.logging.error.ErrorHandler;
+import com.djrapitops.plugin.logging.error.FolderTimeStampErrorFileLogger;
 import com.djrapitops.plugin.task.RunnableFactory;
+import com.djrapitops.plugin.task.TickBudget;
 import com.djrapitops.plugin.task.bukkit.BukkitRunnableFactory;
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -60,6 +65,7 @@ public abstract class BukkitPlugin extends JavaPlugin implements APFPlugin {
     protected final CombineDebugLogger debugLogger;
     protected final DefaultErrorHandler errorHandler;
     protected final Timings timings;
+    protected final TickBudget tickBudget;
     protected final RunnableFactory runnableFactory;
     protected PluginLogger logger;
     protected boolean reloading;
@@ -78,6 +84,7 @@ public abstract class BukkitPlugin extends JavaPlugin implements APFPlugin {
      */
     public BukkitPlugin(CombineDebugLogger debugLogger) {
         this.debugLogger = debugLogger;
+        this.tickBudget = new TickBudget(this::getDebugLogger);
         this.runnableFactory = new BukkitRunnableFactory(this);
         this.timings = new Timings(debugLogger);
         this.logger = new JavaUtilPluginLogger(
@@ -90,7 +97,13 @@ public abstract class BukkitPlugin extends JavaPlugin implements APFPlugin {
 
     @Override
     public void onDisable() {
+        ((BukkitRunnableFactory) runnableFactory).stopTickRollUp();
         runnableFactory.cancelAllKnownTasks();
+        debugLogger.stopAsync();
+        errorHandler.stopAsync();
+        errorHandler.getDeduplicator().ifPresent(ErrorDeduplicator::close);
+        debugLogger.getDebugLogger(FolderTimeStampFileDebugLogger.class).ifPresent(FolderTimeStampFileLogger::close);
+        errorHandler.getErrorHandler(FolderTimeStampErrorFileLogger.class).ifPresent(FolderTimeStampFileLogger::close);
     }
 
     public void registerListener(Listener... listeners) {
@@ -135,6 +148,15 @@ public abstract class BukkitPlugin extends JavaPlugin implements APFPlugin {
         return runnableFactory;
     }
 
+    /**
+     * Retrieve the {@link TickBudget} that accounts main thread time used by the tasks of this plugin.
+     *
+     * @return TickBudget of this plugin.
+     */
+    public TickBudget getTickBudget() {
+        return tickBudget;
+    }
+
     @Override
     public PluginLogger getPluginLogger() {
         return logger;
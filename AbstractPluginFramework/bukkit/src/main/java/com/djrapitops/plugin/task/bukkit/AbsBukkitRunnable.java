@@ -26,6 +26,8 @@ package com.djrapitops.plugin.task.bukkit;
 import com.djrapitops.plugin.BukkitPlugin;
 import com.djrapitops.plugin.task.PluginRunnable;
 import com.djrapitops.plugin.task.PluginTask;
+import com.djrapitops.plugin.task.TickBudget;
+import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitRunnable;
 
 /**
@@ -47,8 +49,35 @@ public abstract class AbsBukkitRunnable extends BukkitRunnable implements Plugin
         this.plugin = plugin;
     }
 
+    /**
+     * Run the execution and record the time it took on the {@link TickBudget} if running on the main thread.
+     *
+     * @param tickBudget TickBudget to record the time on.
+     * @param execution  Execution to run.
+     */
+    void runOnTickBudget(TickBudget tickBudget, Runnable execution) {
+        if (!Bukkit.isPrimaryThread()) {
+            execution.run();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            execution.run();
+        } finally {
+            tickBudget.record(name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Called before this runnable is scheduled to run on the main thread.
+     */
+    void onSyncSchedule() {
+        // No implementation, overridden by the factory to start the TickBudget roll-up.
+    }
+
     @Override
     public PluginTask runTask() {
+        onSyncSchedule();
         AbsBukkitTask task = new AbsBukkitTask(super.runTask(plugin));
         id = task.getTaskId();
         return task;
@@ -63,6 +92,7 @@ public abstract class AbsBukkitRunnable extends BukkitRunnable implements Plugin
 
     @Override
     public PluginTask runTaskLater(long delay) {
+        onSyncSchedule();
         AbsBukkitTask task = new AbsBukkitTask(super.runTaskLater(plugin, delay));
         id = task.getTaskId();
         return task;
@@ -77,6 +107,7 @@ public abstract class AbsBukkitRunnable extends BukkitRunnable implements Plugin
 
     @Override
     public PluginTask runTaskTimer(long delay, long period) {
+        onSyncSchedule();
         AbsBukkitTask task = new AbsBukkitTask(super.runTaskTimer(plugin, delay, period));
         id = task.getTaskId();
         return task;
@@ -27,6 +27,8 @@ import com.djrapitops.plugin.BukkitPlugin;
 import com.djrapitops.plugin.task.AbsRunnable;
 import com.djrapitops.plugin.task.PluginRunnable;
 import com.djrapitops.plugin.task.RunnableFactory;
+import com.djrapitops.plugin.task.TickBudget;
+import org.bukkit.scheduler.BukkitTask;
 
 /**
  * {@link RunnableFactory} implementation for Bukkit.
@@ -36,6 +38,9 @@ import com.djrapitops.plugin.task.RunnableFactory;
 public class BukkitRunnableFactory extends RunnableFactory {
 
     private final BukkitPlugin plugin;
+    private final TickBudget tickBudget;
+
+    private BukkitTask tickRollUp;
 
     /**
      * Create a new BukkitRunnableFactory.
@@ -44,6 +49,7 @@ public class BukkitRunnableFactory extends RunnableFactory {
      */
     public BukkitRunnableFactory(BukkitPlugin plugin) {
         this.plugin = plugin;
+        this.tickBudget = plugin.getTickBudget();
     }
 
     @Override
@@ -51,12 +57,34 @@ public class BukkitRunnableFactory extends RunnableFactory {
         return new AbsBukkitRunnable(name, plugin, time) {
             @Override
             public void run() {
-                setCancellable(runnable, this);
-                runnable.run();
+                runOnTickBudget(tickBudget, () -> execute(this, runnable));
+            }
+
+            @Override
+            void onSyncSchedule() {
+                startTickRollUp();
             }
         };
     }
 
+    private synchronized void startTickRollUp() {
+        if (tickRollUp == null || tickRollUp.isCancelled()) {
+            tickRollUp = plugin.getServer().getScheduler().runTaskTimer(plugin, tickBudget::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Stop rolling up the {@link TickBudget}, called by {@link BukkitPlugin#onDisable()}.
+     * <p>
+     * The roll-up starts again when the next task is scheduled on the main thread.
+     */
+    public synchronized void stopTickRollUp() {
+        if (tickRollUp != null) {
+            tickRollUp.cancel();
+            tickRollUp = null;
+        }
+    }
+
     @Override
     public void cancelAllKnownTasks() {
         plugin.getServer().getScheduler().cancelTasks(plugin);
@@ -27,13 +27,17 @@ import com.djrapitops.plugin.api.utility.Version;
 import com.djrapitops.plugin.benchmarking.Timings;
 import com.djrapitops.plugin.command.CommandNode;
 import com.djrapitops.plugin.command.bungee.BungeeCommand;
+import com.djrapitops.plugin.logging.FolderTimeStampFileLogger;
 import com.djrapitops.plugin.logging.console.JavaUtilPluginLogger;
 import com.djrapitops.plugin.logging.console.PluginLogger;
 import com.djrapitops.plugin.logging.debug.CombineDebugLogger;
 import com.djrapitops.plugin.logging.debug.DebugLogger;
+import com.djrapitops.plugin.logging.debug.FolderTimeStampFileDebugLogger;
 import com.djrapitops.plugin.logging.debug.MemoryDebugLogger;
 import com.djrapitops.plugin.logging.error.DefaultErrorHandler;
+import com.djrapitops.plugin.logging.error.ErrorDeduplicator;
 import com.djrapitops.plugin.logging.error.ErrorHandler;
+import com.djrapitops.plugin.logging.error.FolderTimeStampErrorFileLogger;
 import com.djrapitops.plugin.task.RunnableFactory;
 import com.djrapitops.plugin.task.bungee.BungeeRunnableFactory;
 import net.md_5.bungee.api.chat.TextComponent;
@@ -91,6 +95,11 @@ public abstract class BungeePlugin extends net.md_5.bungee.api.plugin.Plugin imp
     @Override
     public void onDisable() {
         runnableFactory.cancelAllKnownTasks();
+        debugLogger.stopAsync();
+        errorHandler.stopAsync();
+        errorHandler.getDeduplicator().ifPresent(ErrorDeduplicator::close);
+        debugLogger.getDebugLogger(FolderTimeStampFileDebugLogger.class).ifPresent(FolderTimeStampFileLogger::close);
+        errorHandler.getErrorHandler(FolderTimeStampErrorFileLogger.class).ifPresent(FolderTimeStampFileLogger::close);
     }
 
     @Override
@@ -51,8 +51,7 @@ public class BungeeRunnableFactory extends RunnableFactory {
         return new AbsBungeeRunnable(name, plugin, time) {
             @Override
             public void run() {
-                setCancellable(runnable, this);
-                runnable.run();
+                execute(this, runnable);
             }
         };
     }
@@ -26,14 +26,19 @@ package com.djrapitops.plugin;
 import com.djrapitops.plugin.benchmarking.Timings;
 import com.djrapitops.plugin.command.CommandNode;
 import com.djrapitops.plugin.command.sponge.SpongeCommand;
+import com.djrapitops.plugin.logging.FolderTimeStampFileLogger;
 import com.djrapitops.plugin.logging.console.PluginLogger;
 import com.djrapitops.plugin.logging.console.Slf4jPluginLogger;
 import com.djrapitops.plugin.logging.debug.CombineDebugLogger;
 import com.djrapitops.plugin.logging.debug.DebugLogger;
+import com.djrapitops.plugin.logging.debug.FolderTimeStampFileDebugLogger;
 import com.djrapitops.plugin.logging.debug.MemoryDebugLogger;
 import com.djrapitops.plugin.logging.error.DefaultErrorHandler;
+import com.djrapitops.plugin.logging.error.ErrorDeduplicator;
 import com.djrapitops.plugin.logging.error.ErrorHandler;
+import com.djrapitops.plugin.logging.error.FolderTimeStampErrorFileLogger;
 import com.djrapitops.plugin.task.RunnableFactory;
+import com.djrapitops.plugin.task.TickBudget;
 import com.djrapitops.plugin.task.sponge.SpongeRunnableFactory;
 import com.djrapitops.plugin.utilities.Verify;
 import org.slf4j.Logger;
@@ -70,6 +75,7 @@ public abstract class SpongePlugin implements APFPlugin {
     protected final CombineDebugLogger debugLogger;
     protected final DefaultErrorHandler errorHandler;
     protected final Timings timings;
+    protected final TickBudget tickBudget;
     protected final RunnableFactory runnableFactory;
     private final Map<String, CommandMapping> commandMappings = new HashMap<>();
     protected boolean reloading;
@@ -88,6 +94,7 @@ public abstract class SpongePlugin implements APFPlugin {
      */
     public SpongePlugin(CombineDebugLogger debugLogger) {
         this.debugLogger = debugLogger;
+        this.tickBudget = new TickBudget(this::getDebugLogger);
         this.runnableFactory = new SpongeRunnableFactory(this);
         this.timings = new Timings(debugLogger);
         this.logger = new Slf4jPluginLogger(this::getLogger, this::getDebugLogger);
@@ -112,7 +119,13 @@ public abstract class SpongePlugin implements APFPlugin {
 
     @Override
     public void onDisable() {
+        ((SpongeRunnableFactory) runnableFactory).stopTickRollUp();
         runnableFactory.cancelAllKnownTasks();
+        debugLogger.stopAsync();
+        errorHandler.stopAsync();
+        errorHandler.getDeduplicator().ifPresent(ErrorDeduplicator::close);
+        debugLogger.getDebugLogger(FolderTimeStampFileDebugLogger.class).ifPresent(FolderTimeStampFileLogger::close);
+        errorHandler.getErrorHandler(FolderTimeStampErrorFileLogger.class).ifPresent(FolderTimeStampFileLogger::close);
     }
 
     @Override
@@ -158,6 +171,15 @@ public abstract class SpongePlugin implements APFPlugin {
         return runnableFactory;
     }
 
+    /**
+     * Retrieve the {@link TickBudget} that accounts main thread time used by the tasks of this plugin.
+     *
+     * @return TickBudget of this plugin.
+     */
+    public TickBudget getTickBudget() {
+        return tickBudget;
+    }
+
     @Override
     public PluginLogger getPluginLogger() {
         return logger;
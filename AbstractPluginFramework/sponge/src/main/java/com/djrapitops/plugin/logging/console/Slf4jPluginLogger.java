@@ -24,6 +24,7 @@
 package com.djrapitops.plugin.logging.console;
 
 import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.LogEvent;
 import com.djrapitops.plugin.logging.debug.DebugLogger;
 import org.slf4j.Logger;
 
@@ -66,7 +67,7 @@ public class Slf4jPluginLogger implements PluginLogger {
             debugLogger.get().log(message);
             return;
         } else if (level != L.DEBUG_INFO) {
-            log(L.DEBUG, message);
+            debugLogger.get().log(LogEvent.of(level, "", message));
         }
         Logger logger = loggerSupplier.get();
         switch (level) {
@@ -26,6 +26,8 @@ package com.djrapitops.plugin.task.sponge;
 import com.djrapitops.plugin.SpongePlugin;
 import com.djrapitops.plugin.task.PluginRunnable;
 import com.djrapitops.plugin.task.PluginTask;
+import com.djrapitops.plugin.task.TickBudget;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.scheduler.Task;
 
 /**
@@ -48,6 +50,25 @@ abstract class AbsSpongeRunnable implements PluginRunnable, Runnable {
         this.name = name;
     }
 
+    /**
+     * Run the execution and record the time it took on the {@link TickBudget} if running on the main thread.
+     *
+     * @param tickBudget TickBudget to record the time on.
+     * @param execution  Execution to run.
+     */
+    void runOnTickBudget(TickBudget tickBudget, Runnable execution) {
+        if (!Sponge.getServer().isMainThread()) {
+            execution.run();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            execution.run();
+        } finally {
+            tickBudget.record(name, System.nanoTime() - start);
+        }
+    }
+
     @Override
     public String getTaskName() {
         return name;
@@ -73,8 +94,16 @@ abstract class AbsSpongeRunnable implements PluginRunnable, Runnable {
         return -1;
     }
 
+    /**
+     * Called before this runnable is scheduled to run on the main thread.
+     */
+    void onSyncSchedule() {
+        // No implementation, overridden by the factory to start the TickBudget roll-up.
+    }
+
     @Override
     public PluginTask runTask() {
+        onSyncSchedule();
         task = new AbsSpongeTask(Task.builder().execute(this).submit(plugin));
         return this.task;
     }
@@ -87,6 +116,7 @@ abstract class AbsSpongeRunnable implements PluginRunnable, Runnable {
 
     @Override
     public PluginTask runTaskLater(long delay) {
+        onSyncSchedule();
         task = new AbsSpongeTask(Task.builder().execute(this)
                 .delayTicks(delay)
                 .submit(plugin));
@@ -103,6 +133,7 @@ abstract class AbsSpongeRunnable implements PluginRunnable, Runnable {
 
     @Override
     public PluginTask runTaskTimer(long delay, long period) {
+        onSyncSchedule();
         task = new AbsSpongeTask(Task.builder().execute(this)
                 .delayTicks(delay)
                 .intervalTicks(period)
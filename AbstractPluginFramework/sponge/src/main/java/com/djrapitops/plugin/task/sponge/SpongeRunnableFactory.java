@@ -27,6 +27,7 @@ import com.djrapitops.plugin.SpongePlugin;
 import com.djrapitops.plugin.task.AbsRunnable;
 import com.djrapitops.plugin.task.PluginRunnable;
 import com.djrapitops.plugin.task.RunnableFactory;
+import com.djrapitops.plugin.task.TickBudget;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.scheduler.Task;
 
@@ -38,6 +39,9 @@ import org.spongepowered.api.scheduler.Task;
 public class SpongeRunnableFactory extends RunnableFactory {
 
     private final SpongePlugin plugin;
+    private final TickBudget tickBudget;
+
+    private Task tickRollUp;
 
     /**
      * Create new SpongeRunnableFactory.
@@ -46,6 +50,7 @@ public class SpongeRunnableFactory extends RunnableFactory {
      */
     public SpongeRunnableFactory(SpongePlugin plugin) {
         this.plugin = plugin;
+        this.tickBudget = plugin.getTickBudget();
     }
 
     @Override
@@ -53,12 +58,36 @@ public class SpongeRunnableFactory extends RunnableFactory {
         return new AbsSpongeRunnable(name, plugin, time) {
             @Override
             public void run() {
-                setCancellable(runnable, this);
-                runnable.run();
+                runOnTickBudget(tickBudget, () -> execute(this, runnable));
+            }
+
+            @Override
+            void onSyncSchedule() {
+                startTickRollUp();
             }
         };
     }
 
+    private synchronized void startTickRollUp() {
+        if (tickRollUp == null || !Sponge.getScheduler().getTaskById(tickRollUp.getUniqueId()).isPresent()) {
+            tickRollUp = Task.builder().execute(tickBudget::tick)
+                    .intervalTicks(1L)
+                    .submit(plugin);
+        }
+    }
+
+    /**
+     * Stop rolling up the {@link TickBudget}, called by {@link SpongePlugin#onDisable()}.
+     * <p>
+     * The roll-up starts again when the next task is scheduled on the main thread.
+     */
+    public synchronized void stopTickRollUp() {
+        if (tickRollUp != null) {
+            tickRollUp.cancel();
+            tickRollUp = null;
+        }
+    }
+
     @Override
     public void cancelAllKnownTasks() {
         Sponge.getScheduler().getScheduledTasks(plugin).forEach(Task::cancel);
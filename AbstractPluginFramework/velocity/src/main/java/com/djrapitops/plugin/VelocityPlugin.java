@@ -26,13 +26,17 @@ package com.djrapitops.plugin;
 import com.djrapitops.plugin.benchmarking.Timings;
 import com.djrapitops.plugin.command.CommandNode;
 import com.djrapitops.plugin.command.velocity.VelocityCommand;
+import com.djrapitops.plugin.logging.FolderTimeStampFileLogger;
 import com.djrapitops.plugin.logging.console.PluginLogger;
 import com.djrapitops.plugin.logging.console.Slf4jPluginLogger;
 import com.djrapitops.plugin.logging.debug.CombineDebugLogger;
 import com.djrapitops.plugin.logging.debug.DebugLogger;
+import com.djrapitops.plugin.logging.debug.FolderTimeStampFileDebugLogger;
 import com.djrapitops.plugin.logging.debug.MemoryDebugLogger;
 import com.djrapitops.plugin.logging.error.DefaultErrorHandler;
+import com.djrapitops.plugin.logging.error.ErrorDeduplicator;
 import com.djrapitops.plugin.logging.error.ErrorHandler;
+import com.djrapitops.plugin.logging.error.FolderTimeStampErrorFileLogger;
 import com.djrapitops.plugin.task.RunnableFactory;
 import com.djrapitops.plugin.task.velocity.VelocityRunnableFactory;
 import com.djrapitops.plugin.utilities.Verify;
@@ -124,6 +128,11 @@ public abstract class VelocityPlugin implements APFPlugin {
     @Override
     public void onDisable() {
         runnableFactory.cancelAllKnownTasks();
+        debugLogger.stopAsync();
+        errorHandler.stopAsync();
+        errorHandler.getDeduplicator().ifPresent(ErrorDeduplicator::close);
+        debugLogger.getDebugLogger(FolderTimeStampFileDebugLogger.class).ifPresent(FolderTimeStampFileLogger::close);
+        errorHandler.getErrorHandler(FolderTimeStampErrorFileLogger.class).ifPresent(FolderTimeStampFileLogger::close);
     }
 
     @Override
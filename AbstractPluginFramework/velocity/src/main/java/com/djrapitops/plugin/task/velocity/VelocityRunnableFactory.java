@@ -59,8 +59,7 @@ public class VelocityRunnableFactory extends RunnableFactory {
         AbsVelocityRunnable taskRunnable = new AbsVelocityRunnable(name, plugin, scheduler, time) {
             @Override
             public void run() {
-                setCancellable(runnable, this);
-                runnable.run();
+                execute(this, runnable);
             }
         };
         tasks.add(taskRunnable);